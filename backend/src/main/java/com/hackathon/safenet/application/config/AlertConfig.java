@@ -0,0 +1,102 @@
+package com.hackathon.safenet.application.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.safenet.application.service.alert.AlertFeedRegistry;
+import com.hackathon.safenet.application.service.alert.AlertFeedScheduler;
+import com.hackathon.safenet.application.service.alert.AlertFeedSource;
+import com.hackathon.safenet.application.service.alert.AlertGeofenceService;
+import com.hackathon.safenet.application.service.alert.AlertIngestionService;
+import com.hackathon.safenet.application.service.alert.DwdAlertSource;
+import com.hackathon.safenet.application.service.alert.GdacsAlertSource;
+import com.hackathon.safenet.application.service.alert.RegionBoundaryCatalog;
+import com.hackathon.safenet.application.service.meteo.MeteoAlarmService;
+import com.hackathon.safenet.domain.ports.outbound.FeedPort;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
+import com.hackathon.safenet.infrastructure.properties.Alerts;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.MeteoAlarm;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Warning ingestion services that depend on configuration.
+ *
+ * <h3>Configuration</h3>
+ * <ul>
+ *   <li><code>safenet.meteo-alarm.*</code> - MeteoAlarm feed URL, countries and refresh interval</li>
+ *   <li><code>safenet.alerts.dwd.*</code>, <code>safenet.alerts.gdacs.*</code> - Further feeds, each can be disabled</li>
+ *   <li><code>safenet.alerts.polling-enabled</code>, <code>safenet.alerts.retry-interval</code> - Polling schedule</li>
+ *   <li><code>safenet.alerts.region-boundaries</code> - GeoJSON outlines used to locate alert regions</li>
+ *   <li><code>safenet.alerts.geofence.*</code> - Enter/leave notifications and which stored positions they start from</li>
+ * </ul>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AlertConfig {
+
+    private final ApplicationProperties applicationProperties;
+
+    @Bean
+    public MeteoAlarmService meteoAlarmService(FeedPort feedPort, ApplicationEventPublisher eventPublisher) {
+        MeteoAlarm meteoAlarm = applicationProperties.getMeteoAlarm();
+        return new MeteoAlarmService(feedPort, eventPublisher, meteoAlarm.getFeedUrl(),
+                meteoAlarm.getCountries().getFirst());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "safenet.alerts.dwd", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public DwdAlertSource dwdAlertSource(FeedPort feedPort, ObjectMapper objectMapper) {
+        Alerts.Source dwd = applicationProperties.getAlerts().getDwd();
+        return new DwdAlertSource(feedPort, objectMapper, URI.create(dwd.getUrl()), dwd.getPollInterval());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "safenet.alerts.gdacs", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public GdacsAlertSource gdacsAlertSource(FeedPort feedPort) {
+        Alerts.Source gdacs = applicationProperties.getAlerts().getGdacs();
+        return new GdacsAlertSource(feedPort, URI.create(gdacs.getUrl()), gdacs.getPollInterval());
+    }
+
+    @Bean
+    public AlertFeedRegistry alertFeedRegistry(List<AlertFeedSource> feedSources, MeteoAlarmService meteoAlarmService) {
+        MeteoAlarm meteoAlarm = applicationProperties.getMeteoAlarm();
+        return new AlertFeedRegistry(feedSources, meteoAlarmService, meteoAlarm.getCountries(),
+                meteoAlarm.getRefreshInterval());
+    }
+
+    @Bean
+    public AlertFeedScheduler alertFeedScheduler(AlertFeedRegistry registry,
+                                                 AlertIngestionService ingestionService,
+                                                 @Qualifier(SchedulingConfig.TASK_SCHEDULER) TaskScheduler taskScheduler) {
+        Alerts alerts = applicationProperties.getAlerts();
+        return new AlertFeedScheduler(registry, ingestionService, taskScheduler,
+                alerts.isPollingEnabled(), alerts.getRetryInterval());
+    }
+
+    @Bean
+    public RegionBoundaryCatalog regionBoundaryCatalog(ResourceLoader resourceLoader, ObjectMapper objectMapper) {
+        return new RegionBoundaryCatalog(resourceLoader, objectMapper,
+                applicationProperties.getAlerts().getRegionBoundaries());
+    }
+
+    @Bean
+    public AlertGeofenceService alertGeofenceService(AlertIngestionService ingestionService,
+                                                     UserLocationRepositoryPort locationRepository,
+                                                     NotificationPort notificationPort,
+                                                     MeterRegistry meterRegistry) {
+        Alerts.Geofence geofence = applicationProperties.getAlerts().getGeofence();
+        return new AlertGeofenceService(ingestionService, locationRepository, notificationPort, meterRegistry,
+                geofence.isEnabled(), geofence.getSeedMaxAge());
+    }
+}
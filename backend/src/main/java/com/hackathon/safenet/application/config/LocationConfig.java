@@ -0,0 +1,46 @@
+package com.hackathon.safenet.application.config;
+
+import com.hackathon.safenet.application.service.LocationMovementFilter;
+import com.hackathon.safenet.application.service.LocationViewportService;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Location;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Location pipeline services that depend on configuration.
+ *
+ * <h3>Configuration</h3>
+ * <ul>
+ *   <li><code>safenet.location.movement-filter.*</code> - Suppression of pings that did not move</li>
+ *   <li><code>safenet.location.viewport.*</code> - Map viewports registered over STOMP</li>
+ * </ul>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class LocationConfig {
+
+    private final ApplicationProperties applicationProperties;
+
+    @Bean
+    public LocationMovementFilter locationMovementFilter(MeterRegistry meterRegistry) {
+        Location.MovementFilter filter = applicationProperties.getLocation().getMovementFilter();
+        return new LocationMovementFilter(filter.isEnabled(), filter.getMinInterval(),
+                filter.getMinDistance(), filter.getMaxRadius(), meterRegistry);
+    }
+
+    @Bean
+    public LocationViewportService locationViewportService(FriendGraphPort friendGraph,
+                                                           UserLocationRepositoryPort userLocationRepository,
+                                                           NotificationPort notificationPort,
+                                                           MeterRegistry meterRegistry) {
+        Location.Viewport viewport = applicationProperties.getLocation().getViewport();
+        return new LocationViewportService(friendGraph, userLocationRepository, notificationPort,
+                viewport.isEnabled(), viewport.getPrecision(), viewport.getMaxCells(), meterRegistry);
+    }
+}
@@ -9,16 +9,10 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.core.DefaultOAuth2AuthenticatedPrincipal;
-import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
 import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 
-import java.util.*;
-
 /**
  * JWT and OAuth2 Resource Server security configuration for the SafeNet application.
  *
@@ -36,12 +30,9 @@ import java.util.*;
  * </ul>
  *
  * <h3>Authority Mapping</h3>
- * <p>The configuration maps JWT claims to Spring Security authorities:</p>
- * <ul>
- *   <li><strong>Realm Roles:</strong> Mapped from 'realm_access.roles' claim</li>
- *   <li><strong>Resource Roles:</strong> Mapped from 'resource_access.{client}.roles' claim</li>
- *   <li><strong>Scope:</strong> Mapped from 'scope' claim</li>
- * </ul>
+ * <p>Claims are mapped to Spring Security authorities by the
+ * {@link com.hackathon.safenet.application.security.KeycloakAuthoritiesConverter}
+ * inside the shared introspector (see {@link TokenIntrospectionConfig}).</p>
  *
  * <h3>Public Endpoints</h3>
  * <p>The following endpoints are accessible without authentication:</p>
@@ -59,7 +50,7 @@ public class OpaqueTokenSecurityConfig {
 
     private final ApplicationProperties applicationProperties;
     private final CorsSecurityConfig corsSecurityConfig;
-    private final OpaqueTokenIntrospector delegate;
+    private final OpaqueTokenIntrospector introspector;
 
 
     /**
@@ -124,54 +115,7 @@ public class OpaqueTokenSecurityConfig {
                 // Configure OAuth2 Resource Server with opaque token introspection
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .opaqueToken(token -> token
-                                .introspector(t -> {
-                                    OAuth2AuthenticatedPrincipal principal = delegate.introspect(t);
-                                    Map<String, Object> claims = principal.getAttributes();
-                                    String principalName = (String) claims.get("sub");
-
-                                    List<GrantedAuthority> authorities = new ArrayList<>();
-
-                                    // Extract realm roles from realm_access.roles
-                                    Object realmAccess = claims.get("realm_access");
-                                    if (realmAccess instanceof Map) {
-                                        @SuppressWarnings("unchecked")
-                                        Map<String, Object> realmAccessMap = (Map<String, Object>) realmAccess;
-                                        Object rolesObj = realmAccessMap.get("roles");
-
-                                        if (rolesObj instanceof Collection) {
-                                            @SuppressWarnings("unchecked")
-                                            Collection<String> roles = (Collection<String>) rolesObj;
-                                            authorities.addAll(
-                                                    roles.stream()
-                                                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()))
-                                                            .toList()
-                                            );
-                                        }
-                                    }
-
-                                    // Extract scopes
-                                    Object scopeClaim = claims.get("scope");
-                                    if (scopeClaim != null) {
-                                        List<String> scopes = new ArrayList<>();
-
-                                        if (scopeClaim instanceof String) {
-                                            // Space-separated string
-                                            scopes.addAll(Arrays.asList(((String) scopeClaim).split(" ")));
-                                        } else if (scopeClaim instanceof Collection) {
-                                            // Already a collection
-                                            ((Collection<?>) scopeClaim).forEach(s -> scopes.add(s.toString()));
-                                        }
-
-                                        authorities.addAll(
-                                                scopes.stream()
-                                                        .filter(s -> !s.isEmpty())
-                                                        .map(s -> new SimpleGrantedAuthority("SCOPE_" + s.toUpperCase()))
-                                                        .toList()
-                                        );
-                                    }
-
-                                    return new DefaultOAuth2AuthenticatedPrincipal(principalName, claims, authorities);
-                                })
+                                .introspector(introspector)
                         )
                 )
 
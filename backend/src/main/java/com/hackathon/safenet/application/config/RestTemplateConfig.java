@@ -1,14 +1,68 @@
 package com.hackathon.safenet.application.config;
 
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Http;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Outbound HTTP configuration.
+ *
+ * <p>The {@link RestTemplate} runs on a pooled Apache HttpClient with keep-alive,
+ * so a slow upstream cannot hold a caller longer than the configured timeouts.
+ * The client requests gzip and decompresses responses transparently.</p>
+ *
+ * <h3>Configuration</h3>
+ * <ul>
+ *   <li><code>safenet.http.connect-timeout</code> - TCP connect timeout</li>
+ *   <li><code>safenet.http.read-timeout</code> - Longest pause between two packets</li>
+ *   <li><code>safenet.http.pool.*</code> - Connection limits, acquire timeout and connection lifetime</li>
+ * </ul>
+ */
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public CloseableHttpClient outboundHttpClient(ApplicationProperties applicationProperties) {
+        Http http = applicationProperties.getHttp();
+        Http.Pool pool = http.getPool();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxTotal())
+                .setMaxConnPerRoute(pool.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(http.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(http.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(pool.getTimeToLive()))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(pool.getAcquireTimeout()))
+                        .setResponseTimeout(Timeout.of(http.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.getMaxIdleTime()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient outboundHttpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+                .build();
     }
-}
\ No newline at end of file
+}
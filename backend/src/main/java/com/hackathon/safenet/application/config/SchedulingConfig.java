@@ -0,0 +1,30 @@
+package com.hackathon.safenet.application.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as flushing buffered
+ * location pings to the database.
+ *
+ * <p>The STOMP broker registers its own {@code messageBrokerTaskScheduler} for
+ * heartbeats, which makes Spring Boot skip its default scheduler. Background
+ * jobs therefore get a dedicated {@value #TASK_SCHEDULER} bean, so a slow
+ * database flush cannot delay heartbeats. It is configured with
+ * {@code spring.task.scheduling.*}.</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /** Name of the scheduler for background jobs; {@code @Scheduled} methods use it by default. */
+    public static final String TASK_SCHEDULER = "taskScheduler";
+
+    @Bean(name = TASK_SCHEDULER)
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.hackathon.safenet.application.config;
+
+import com.hackathon.safenet.application.security.CachingOpaqueTokenIntrospector;
+import com.hackathon.safenet.application.security.KeycloakAuthoritiesConverter;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Security;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.introspection.SpringOpaqueTokenIntrospector;
+
+/**
+ * Token introspection configuration shared by REST and WebSocket authentication.
+ *
+ * <p>Replaces the auto-configured introspector with one that calls Keycloak's
+ * introspection endpoint ({@code spring.security.oauth2.resourceserver.opaquetoken})
+ * through a {@link CachingOpaqueTokenIntrospector}, so repeated requests with the
+ * same token do not each pay a remote round trip. Authorities are mapped by the
+ * {@link KeycloakAuthoritiesConverter} before a result is cached.</p>
+ *
+ * <h3>Configuration</h3>
+ * <ul>
+ *   <li><code>safenet.security.introspection-cache.enabled</code> - Toggle the cache</li>
+ *   <li><code>safenet.security.introspection-cache.max-ttl</code> - Upper bound for cached entries</li>
+ *   <li><code>safenet.security.introspection-cache.max-entries</code> - Maximum cached tokens</li>
+ * </ul>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class TokenIntrospectionConfig {
+
+    private final ApplicationProperties applicationProperties;
+    private final KeycloakAuthoritiesConverter authoritiesConverter;
+
+    /**
+     * Configures the opaque token introspector.
+     *
+     * @param resourceServerProperties the Spring Boot resource server properties
+     * @param meterRegistry registry for cache metrics
+     * @return the configured OpaqueTokenIntrospector
+     */
+    @Bean
+    public OpaqueTokenIntrospector opaqueTokenIntrospector(OAuth2ResourceServerProperties resourceServerProperties,
+                                                           MeterRegistry meterRegistry) {
+        OAuth2ResourceServerProperties.Opaquetoken opaqueToken = resourceServerProperties.getOpaquetoken();
+        OpaqueTokenIntrospector keycloak = SpringOpaqueTokenIntrospector
+                .withIntrospectionUri(opaqueToken.getIntrospectionUri())
+                .clientId(opaqueToken.getClientId())
+                .clientSecret(opaqueToken.getClientSecret())
+                .build();
+
+        // Map authorities before caching so cache hits carry them ready-made
+        OpaqueTokenIntrospector remote = token -> authoritiesConverter.convert(keycloak.introspect(token));
+
+        Security.IntrospectionCache cache = applicationProperties.getSecurity().getIntrospectionCache();
+        if (!cache.isEnabled()) {
+            return remote;
+        }
+        return new CachingOpaqueTokenIntrospector(remote, cache.getMaxTtl(), cache.getMaxEntries(), meterRegistry);
+    }
+}
@@ -1,12 +1,20 @@
 package com.hackathon.safenet.application.config;
 
+import com.hackathon.safenet.infrastructure.adapters.web.websocket.SessionEvictionHandler;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.WebSocket;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.simp.config.TaskExecutorRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration for real-time messaging.
@@ -29,8 +37,41 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  *   <li><code>/topic/friend-requests/{userId}</code> - Friend request events</li>
  *   <li><code>/topic/locations/{userId}</code> - Location updates for friends</li>
  *   <li><code>/topic/emergency</code> - Emergency broadcasts</li>
+ *   <li><code>/topic/alerts/{region}</code> - Weather alert updates of a region</li>
+ *   <li><code>/app/alerts/{region}</code> - Weather alert snapshot of a region, sent once on subscribe</li>
+ *   <li><code>/app/viewport</code> - Registers the map viewport whose friend locations are streamed</li>
+ *   <li><code>/user/queue/locations.compact</code> - Binary location frames for sessions that sent
+ *       <code>location-encoding: compact</code> on CONNECT; JSON stays the default. A user
+ *       with compact and JSON sessions gets location frames on both queues, so a compact
+ *       session ignores location types on <code>/user/queue/notifications</code> and a
+ *       JSON session does not subscribe here</li>
  * </ul>
  * 
+ * <h3>Broker Modes</h3>
+ * <p>Selected with <code>safenet.websocket.broker.mode</code>:</p>
+ * <ul>
+ *   <li><code>SIMPLE</code> - In-memory broker; sessions and subscriptions live in
+ *       this JVM, so only a single instance can serve users</li>
+ *   <li><code>RELAY</code> - Subscriptions are relayed to an external STOMP broker
+ *       such as RabbitMQ or ActiveMQ Artemis. Replicas share their connected users
+ *       on the user registry broadcast topic, and a message for a user connected to
+ *       another replica is re-broadcast on the user destination broadcast topic, so
+ *       every replica can notify every user</li>
+ * </ul>
+ * <p>Replicas share only the broker and the database. The latest-location
+ * cache never sees writes of other replicas, so RELAY refuses to start
+ * unless <code>safenet.location.cache.enabled</code> is false. Friend lists
+ * are cached per replica as well and are reloaded from the database after
+ * <code>safenet.friends.cache.ttl</code>, which is how long a friendship
+ * removed on another replica may still receive location updates.</p>
+ * 
+ * <h3>Transport</h3>
+ * <p>Inbound and outbound client channels run on sized pools, and every
+ * session has a send time and buffer limit (<code>safenet.websocket.transport</code>).
+ * A client that stalls, e.g. a phone on a bad network, is closed once it
+ * exceeds either limit instead of holding outbound threads; evictions are
+ * counted as <code>safenet.websocket.sessions.evicted</code>.</p>
+ * 
  * <h3>Client Connection</h3>
  * <p>Clients can connect to WebSocket endpoints at:</p>
  * <ul>
@@ -52,12 +93,15 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final ApplicationProperties applicationProperties;
+    private final MeterRegistry meterRegistry;
+
     /**
      * Configure the message broker for handling WebSocket messages.
      * 
      * <p>This method sets up the message broker with the following configuration:</p>
      * <ul>
-     *   <li>Simple broker for topic-based messaging</li>
+     *   <li>Simple broker or external broker relay for topic-based messaging</li>
      *   <li>Application destination prefix for client messages</li>
      *   <li>User destination prefix for personal messages</li>
      * </ul>
@@ -68,21 +112,99 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         log.info("Configuring WebSocket message broker");
         
-        // Enable simple broker for topic-based messaging
-        config.enableSimpleBroker(
-                "/topic",    // Public topics (emergency alerts, etc.)
-                "/queue"     // Private queues (personal notifications)
-        );
+        WebSocket.Broker broker = applicationProperties.getWebsocket().getBroker();
+        if (broker.getMode() == WebSocket.Mode.RELAY) {
+            enableBrokerRelay(config, broker.getRelay());
+        } else {
+            // Enable simple broker for topic-based messaging
+            config.enableSimpleBroker(
+                    "/topic",    // Public topics (emergency alerts, etc.)
+                    "/queue"     // Private queues (personal notifications)
+            );
+        }
         
         // Set application destination prefix for client messages
         config.setApplicationDestinationPrefixes("/app");
         
         // Set user destination prefix for personal messages
         config.setUserDestinationPrefix("/user");
+
+        // The outbound pool would otherwise reorder messages to the same session
+        config.setPreservePublishOrder(true);
         
         log.info("WebSocket message broker configured successfully");
     }
 
+    /**
+     * Configure transport limits and slow-consumer eviction.
+     *
+     * @param registration the transport registration
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocket.Transport transport = applicationProperties.getWebsocket().getTransport();
+        registration
+                .setSendTimeLimit((int) transport.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) transport.getSendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit((int) transport.getMessageSizeLimit().toBytes())
+                .setTimeToFirstMessage((int) transport.getTimeToFirstMessage().toMillis())
+                .addDecoratorFactory(handler -> new SessionEvictionHandler(handler, meterRegistry));
+    }
+
+    /**
+     * Size the executor that processes messages from clients.
+     *
+     * @param registration the inbound channel registration
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configurePool(registration.taskExecutor(), applicationProperties.getWebsocket().getTransport().getInbound());
+    }
+
+    /**
+     * Size the executor that writes messages to clients.
+     *
+     * @param registration the outbound channel registration
+     */
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configurePool(registration.taskExecutor(), applicationProperties.getWebsocket().getTransport().getOutbound());
+    }
+
+    private static void configurePool(TaskExecutorRegistration executor, WebSocket.Pool pool) {
+        executor.corePoolSize(pool.getCorePoolSize())
+                .maxPoolSize(pool.getMaxPoolSize())
+                .queueCapacity(pool.getQueueCapacity())
+                .keepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+    }
+
+    /**
+     * Relay {@code /topic} and {@code /queue} to an external STOMP broker and
+     * share user sessions between replicas through it.
+     *
+     * @param config the message broker registry
+     * @param relay  the relay connection settings
+     */
+    private void enableBrokerRelay(MessageBrokerRegistry config, WebSocket.Relay relay) {
+        log.info("Relaying STOMP destinations to {}:{}", relay.getHost(), relay.getPort());
+
+        long heartbeat = relay.getSystemHeartbeat().toMillis();
+        StompBrokerRelayRegistration registration = config.enableStompBrokerRelay("/topic", "/queue")
+                .setRelayHost(relay.getHost())
+                .setRelayPort(relay.getPort())
+                .setClientLogin(relay.getClientLogin())
+                .setClientPasscode(relay.getClientPasscode())
+                .setSystemLogin(relay.getSystemLogin())
+                .setSystemPasscode(relay.getSystemPasscode())
+                .setSystemHeartbeatSendInterval(heartbeat)
+                .setSystemHeartbeatReceiveInterval(heartbeat)
+                .setUserDestinationBroadcast(relay.getUserDestinationBroadcast())
+                .setUserRegistryBroadcast(relay.getUserRegistryBroadcast());
+        if (relay.getVirtualHost() != null) {
+            registration.setVirtualHost(relay.getVirtualHost());
+        }
+    }
+
     /**
      * Register STOMP endpoints for WebSocket connections.
      * 
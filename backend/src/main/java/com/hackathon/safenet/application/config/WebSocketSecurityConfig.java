@@ -53,7 +53,10 @@ import java.util.Collection;
  *   <li><code>/user/queue/notifications</code> - Personal notifications</li>
  *   <li><code>/user/queue/friend-requests</code> - Friend request events</li>
  *   <li><code>/user/queue/locations</code> - Location updates from friends</li>
+ *   <li><code>/user/queue/locations.compact</code> - Binary location updates from friends (opt-in on CONNECT)</li>
+ *   <li><code>/app/viewport</code> - Map viewport registration; only friends' visible locations are streamed</li>
  *   <li><code>/topic/emergency</code> - Emergency broadcasts (all authenticated users)</li>
+ *   <li><code>/topic/alerts/{region}</code> - Weather alert updates (all authenticated users)</li>
  * </ul>
  *
  * @author SafeNet Development Team
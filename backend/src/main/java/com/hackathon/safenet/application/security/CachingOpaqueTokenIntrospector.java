@@ -0,0 +1,200 @@
+package com.hackathon.safenet.application.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link OpaqueTokenIntrospector} decorator that caches successful introspections.
+ *
+ * <h3>Caching Rules</h3>
+ * <ul>
+ *   <li>Entries are keyed by the SHA-256 hash of the token, the raw token is never stored</li>
+ *   <li>An entry lives until the token's {@code exp} claim or {@code max-ttl}, whichever comes first</li>
+ *   <li>At most {@code max-entries} tokens are cached; when an insert goes beyond that,
+ *       expired entries and then the least recently used ones are evicted until the
+ *       cache is back to nine tenths of the limit</li>
+ *   <li>Failed introspections are not cached</li>
+ *   <li>Concurrent introspections of the same token share one remote call</li>
+ * </ul>
+ *
+ * <p>Hits take no lock and only stamp the entry's access time; only inserts that
+ * overflow the cache serialize on the eviction lock.</p>
+ */
+@Slf4j
+public class CachingOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+
+    private final OpaqueTokenIntrospector delegate;
+    private final Duration maxTtl;
+    private final int maxEntries;
+
+    private final Map<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Map<String, CompletableFuture<OAuth2AuthenticatedPrincipal>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private static final class CachedPrincipal {
+        final OAuth2AuthenticatedPrincipal principal;
+        final Instant expiresAt;
+        volatile long lastAccess = System.nanoTime();
+
+        CachedPrincipal(OAuth2AuthenticatedPrincipal principal, Instant expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * @param maxTtl     upper bound for cached entries; never longer than the token's own expiry
+     * @param maxEntries most cached tokens; the least recently used is evicted first
+     */
+    public CachingOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate,
+                                          Duration maxTtl,
+                                          int maxEntries,
+                                          MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxTtl = maxTtl;
+        this.maxEntries = maxEntries;
+
+        Gauge.builder("safenet.security.introspection.cache.size", cache, Map::size)
+                .description("Cached token introspection results")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("safenet.security.introspection.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("safenet.security.introspection.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OAuth2AuthenticatedPrincipal introspect(String token) {
+        String key = hash(token);
+
+        OAuth2AuthenticatedPrincipal cached = lookup(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+
+        CompletableFuture<OAuth2AuthenticatedPrincipal> mine = new CompletableFuture<>();
+        CompletableFuture<OAuth2AuthenticatedPrincipal> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            OAuth2AuthenticatedPrincipal principal = delegate.introspect(token);
+            store(key, principal);
+            mine.complete(principal);
+            return principal;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private OAuth2AuthenticatedPrincipal lookup(String key) {
+        CachedPrincipal entry = cache.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt.isBefore(Instant.now())) {
+            cache.remove(key, entry);
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry.principal;
+    }
+
+    private void store(String key, OAuth2AuthenticatedPrincipal principal) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(maxTtl);
+
+        Object exp = principal.getAttribute(OAuth2TokenIntrospectionClaimNames.EXP);
+        if (exp instanceof Instant tokenExpiry && tokenExpiry.isBefore(expiresAt)) {
+            expiresAt = tokenExpiry;
+        }
+        if (!expiresAt.isAfter(now)) {
+            return;
+        }
+
+        cache.put(key, new CachedPrincipal(principal, expiresAt));
+        if (cache.size() > maxEntries) {
+            trim();
+        }
+    }
+
+    /**
+     * Drops expired entries, then the least recently used ones, until the cache
+     * is at nine tenths of its limit, so that a full cache is not trimmed on
+     * every insert.
+     */
+    private void trim() {
+        evictionLock.lock();
+        try {
+            if (cache.size() <= maxEntries) {
+                return;
+            }
+            Instant now = Instant.now();
+            cache.values().removeIf(entry -> entry.expiresAt.isBefore(now));
+
+            int excess = cache.size() - (maxEntries - maxEntries / 10);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, CachedPrincipal>> byAccess = new ArrayList<>(cache.entrySet());
+            byAccess.sort(Comparator.comparingLong(cached -> cached.getValue().lastAccess));
+            for (int i = 0; i < excess && i < byAccess.size(); i++) {
+                cache.remove(byAccess.get(i).getKey(), byAccess.get(i).getValue());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static OAuth2AuthenticatedPrincipal await(CompletableFuture<OAuth2AuthenticatedPrincipal> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
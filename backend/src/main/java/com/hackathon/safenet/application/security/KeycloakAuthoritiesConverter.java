@@ -0,0 +1,103 @@
+package com.hackathon.safenet.application.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.core.DefaultOAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps introspected Keycloak claims to Spring Security authorities.
+ *
+ * <h3>Authority Mapping</h3>
+ * <ul>
+ *   <li><strong>Realm Roles:</strong> {@code realm_access.roles} become {@code ROLE_<ROLE>}</li>
+ *   <li><strong>Scope:</strong> each entry of {@code scope} becomes {@code SCOPE_<SCOPE>}</li>
+ * </ul>
+ *
+ * <p>Authorities are interned in a shared pool, and every distinct combination of
+ * roles and scopes is mapped once into an immutable list that all principals with
+ * that combination share. In practice there are only a handful of combinations.</p>
+ */
+@Component
+public class KeycloakAuthoritiesConverter implements Converter<OAuth2AuthenticatedPrincipal, OAuth2AuthenticatedPrincipal> {
+
+    private static final String SUBJECT_CLAIM = "sub";
+    private static final String REALM_ACCESS_CLAIM = "realm_access";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String SCOPE_CLAIM = "scope";
+
+    // Guards against unbounded growth if tokens carry unusual claim values
+    private static final int MAX_COMBINATIONS = 1_024;
+
+    private record ClaimKey(Object roles, Object scope) {
+    }
+
+    private final Map<String, GrantedAuthority> authorityPool = new ConcurrentHashMap<>();
+    private final Map<ClaimKey, List<GrantedAuthority>> combinations = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a principal named after the {@code sub} claim carrying the mapped authorities.
+     */
+    @Override
+    public OAuth2AuthenticatedPrincipal convert(OAuth2AuthenticatedPrincipal principal) {
+        Map<String, Object> claims = principal.getAttributes();
+        String principalName = (String) claims.get(SUBJECT_CLAIM);
+        return new DefaultOAuth2AuthenticatedPrincipal(principalName, claims, getAuthorities(claims));
+    }
+
+    /**
+     * Maps the role and scope claims to a shared, immutable authority list.
+     */
+    public List<GrantedAuthority> getAuthorities(Map<String, Object> claims) {
+        Object roles = claims.get(REALM_ACCESS_CLAIM) instanceof Map<?, ?> realmAccess
+                ? realmAccess.get(ROLES_CLAIM)
+                : null;
+        ClaimKey key = new ClaimKey(roles, claims.get(SCOPE_CLAIM));
+
+        List<GrantedAuthority> authorities = combinations.get(key);
+        if (authorities == null) {
+            authorities = map(key);
+            if (combinations.size() < MAX_COMBINATIONS) {
+                combinations.putIfAbsent(key, authorities);
+            }
+        }
+        return authorities;
+    }
+
+    private List<GrantedAuthority> map(ClaimKey key) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+
+        if (key.roles() instanceof Collection<?> roles) {
+            roles.forEach(role -> authorities.add(intern("ROLE_", role.toString())));
+        }
+
+        if (key.scope() instanceof String scopes) {
+            for (String scope : scopes.split(" ")) {
+                if (!scope.isEmpty()) {
+                    authorities.add(intern("SCOPE_", scope));
+                }
+            }
+        } else if (key.scope() instanceof Collection<?> scopes) {
+            scopes.forEach(scope -> {
+                if (!scope.toString().isEmpty()) {
+                    authorities.add(intern("SCOPE_", scope.toString()));
+                }
+            });
+        }
+
+        return List.copyOf(authorities);
+    }
+
+    private GrantedAuthority intern(String prefix, String value) {
+        return authorityPool.computeIfAbsent(prefix + value.toUpperCase(Locale.ROOT), SimpleGrantedAuthority::new);
+    }
+}
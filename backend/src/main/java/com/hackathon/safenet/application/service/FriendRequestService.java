@@ -5,6 +5,7 @@ import com.hackathon.safenet.domain.model.FriendRequest;
 import com.hackathon.safenet.domain.model.Friendship;
 import com.hackathon.safenet.domain.model.NotificationMessage;
 import com.hackathon.safenet.domain.ports.inbound.FriendRequestPort;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
 import com.hackathon.safenet.domain.ports.outbound.FriendRequestRepositoryPort;
 import com.hackathon.safenet.domain.ports.outbound.FriendshipRepositoryPort;
 import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
@@ -25,6 +26,7 @@ public class FriendRequestService implements FriendRequestPort {
 
     private final FriendRequestRepositoryPort friendRequestRepository;
     private final FriendshipRepositoryPort friendshipRepository;
+    private final FriendGraphPort friendGraph;
     private final UserRepositoryPort userRepository;
     private final NotificationPort notificationPort;
 
@@ -63,6 +65,7 @@ public class FriendRequestService implements FriendRequestPort {
 
         Friendship friendship = Friendship.create(request.requesterId(), request.requestedId());
         friendshipRepository.save(friendship);
+        friendGraph.invalidate(request.requesterId(), request.requestedId());
 
         notifyFriendRequestAccepted(saved);
 
@@ -5,6 +5,7 @@ import com.hackathon.safenet.domain.model.FriendRequest;
 import com.hackathon.safenet.domain.model.Friendship;
 import com.hackathon.safenet.domain.model.User;
 import com.hackathon.safenet.domain.ports.inbound.FriendshipPort;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
 import com.hackathon.safenet.domain.ports.outbound.FriendRequestRepositoryPort;
 import com.hackathon.safenet.domain.ports.outbound.FriendshipRepositoryPort;
 import com.hackathon.safenet.domain.ports.outbound.UserRepositoryPort;
@@ -46,6 +47,7 @@ import java.util.UUID;
 public class FriendshipService implements FriendshipPort {
 
     private final FriendshipRepositoryPort friendshipRepository;
+    private final FriendGraphPort friendGraph;
     private final UserRepositoryPort userRepository;
     private final FriendRequestRepositoryPort friendRequestRepository;
 
@@ -93,7 +95,7 @@ public class FriendshipService implements FriendshipPort {
             return false;
         }
 
-        return friendshipRepository.existsBetweenUsers(userId1, userId2);
+        return friendGraph.areFriends(userId1, userId2);
     }
 
     @Override
@@ -124,6 +126,7 @@ public class FriendshipService implements FriendshipPort {
 
         // Remove the friendship
         friendshipRepository.deleteBetweenUsers(userId1, userId2);
+        friendGraph.invalidate(userId1, userId2);
 
         // Reset the friend request status to PENDING so users can send requests again
         friendRequestRepository.findBetweenUsers(userId1, userId2)
@@ -0,0 +1,87 @@
+package com.hackathon.safenet.application.service;
+
+import com.hackathon.safenet.domain.model.UserLocation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+
+/**
+ * Decides whether a location ping carries new information.
+ *
+ * <p>A ping is suppressed when all of the following hold:</p>
+ * <ul>
+ *   <li>The visibility setting did not change</li>
+ *   <li>The previous location was stored less than {@code min-interval} ago</li>
+ *   <li>The distance to the previous location is within the accuracy radius,
+ *       i.e. the larger of both reported accuracies, clamped to
+ *       [{@code min-distance}, {@code max-radius}]</li>
+ * </ul>
+ *
+ * <p>A stationary device is therefore still written and broadcast once per
+ * {@code min-interval}, which keeps {@link UserLocation#isRecent()} meaningful.</p>
+ */
+public class LocationMovementFilter {
+
+    private final boolean enabled;
+    private final Duration minInterval;
+    private final double minDistance;
+    private final double maxRadius;
+    private final Counter acceptedCounter;
+    private final Counter suppressedCounter;
+
+    /**
+     * @param enabled     {@code false} accepts every ping
+     * @param minInterval a stationary device is still accepted once per interval
+     * @param minDistance lower bound of the accuracy radius in metres
+     * @param maxRadius   upper bound of the accuracy radius in metres
+     */
+    public LocationMovementFilter(boolean enabled, Duration minInterval, double minDistance, double maxRadius,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minInterval = minInterval;
+        this.minDistance = minDistance;
+        this.maxRadius = maxRadius;
+        this.acceptedCounter = Counter.builder("safenet.location.pings")
+                .description("Location pings by filter outcome")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.suppressedCounter = Counter.builder("safenet.location.pings")
+                .description("Location pings by filter outcome")
+                .tag("outcome", "suppressed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param previous  the currently stored location, or {@code null} for the first ping
+     * @param candidate the location built from the new ping
+     * @return {@code true} if the candidate should be saved and broadcast
+     */
+    public boolean accept(UserLocation previous, UserLocation candidate) {
+        boolean accepted = !enabled || previous == null || isSignificant(previous, candidate);
+        (accepted ? acceptedCounter : suppressedCounter).increment();
+        return accepted;
+    }
+
+    private boolean isSignificant(UserLocation previous, UserLocation candidate) {
+        if (!previous.visibleToFriends().equals(candidate.visibleToFriends())) {
+            return true;
+        }
+
+        Duration sincePrevious = Duration.between(previous.updatedAt(), candidate.updatedAt());
+        if (sincePrevious.compareTo(minInterval) >= 0) {
+            return true;
+        }
+
+        return previous.distanceTo(candidate) > radius(previous.accuracy(), candidate.accuracy());
+    }
+
+    private double radius(Double previousAccuracy, Double candidateAccuracy) {
+        double accuracy = Math.max(metres(previousAccuracy), metres(candidateAccuracy));
+        return Math.min(Math.max(accuracy, minDistance), maxRadius);
+    }
+
+    private static double metres(Double accuracy) {
+        return accuracy != null ? accuracy : 0.0;
+    }
+}
@@ -0,0 +1,271 @@
+package com.hackathon.safenet.application.service;
+
+import com.hackathon.safenet.application.util.geo.Envelope;
+import com.hackathon.safenet.application.util.geo.Geohash;
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.domain.ports.inbound.LocationViewportPort;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams friend location updates into registered map viewports.
+ *
+ * <p>Every viewport is indexed under the geohash cells that cover it. A
+ * location update is matched only against the viewports registered on the
+ * cells of its new and previous position, looked up by the prefixes of one
+ * geohash, so the cost of an update does not grow with the number of open
+ * maps. Matches are then checked against the exact bounds, the friendship
+ * and the visibility of the location.</p>
+ *
+ * <p>An update is delivered when either the new or the previous position is
+ * inside the viewport, so a client also learns when a friend moves out of
+ * its map. Viewports belong to sessions, but frames go to all sessions of a
+ * user. A user therefore receives friend locations only this way while every
+ * session of theirs known to this instance has a viewport, and
+ * {@link UpdateUserLocationService} leaves them out of the general friend
+ * fan-out. As soon as one session has no viewport, e.g. a phone next to an
+ * open web map, the user gets the general fan-out and no viewport frames,
+ * which would only repeat it.</p>
+ */
+@Slf4j
+public class LocationViewportService implements LocationViewportPort {
+
+    private record Viewport(UUID userId, Envelope bounds, List<String> cells) {
+    }
+
+    private final FriendGraphPort friendGraph;
+    private final UserLocationRepositoryPort userLocationRepository;
+    private final NotificationPort notificationPort;
+    private final boolean enabled;
+    private final int precision;
+    private final int maxCells;
+    private final Counter deliveries;
+
+    // Keyed by session ID
+    private final Map<String, Viewport> viewports = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> viewersByCell = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> sessionsByUser = new ConcurrentHashMap<>();
+
+    /**
+     * @param enabled   {@code false} rejects new viewports
+     * @param precision finest geohash precision of the cells a viewport is indexed under
+     * @param maxCells  most cells per viewport; larger viewports are indexed with coarser cells
+     */
+    public LocationViewportService(FriendGraphPort friendGraph,
+                                   UserLocationRepositoryPort userLocationRepository,
+                                   NotificationPort notificationPort,
+                                   boolean enabled, int precision, int maxCells,
+                                   MeterRegistry meterRegistry) {
+        this.friendGraph = friendGraph;
+        this.userLocationRepository = userLocationRepository;
+        this.notificationPort = notificationPort;
+        this.enabled = enabled;
+        this.precision = precision;
+        this.maxCells = maxCells;
+        this.deliveries = Counter.builder("safenet.location.viewport.deliveries")
+                .description("Location updates delivered to map viewports")
+                .register(meterRegistry);
+        Gauge.builder("safenet.location.viewports", viewports, Map::size)
+                .description("Registered map viewports")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void subscribe(UUID userId, String sessionId,
+                          double minLatitude, double minLongitude,
+                          double maxLatitude, double maxLongitude) {
+        if (!enabled) {
+            throw new IllegalStateException("Location viewports are disabled");
+        }
+        Envelope bounds = validBounds(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        Viewport viewport = new Viewport(userId, bounds, cover(bounds));
+
+        sessionOpened(userId, sessionId);
+        viewports.compute(sessionId, (id, previous) -> {
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            viewport.cells().forEach(cell -> viewersByCell.compute(cell, (key, viewers) -> {
+                Set<String> members = viewers != null ? viewers : ConcurrentHashMap.newKeySet();
+                members.add(id);
+                return members;
+            }));
+            return viewport;
+        });
+        log.debug("Registered viewport {} for user {} on {} cells", bounds, userId, viewport.cells().size());
+
+        sendSnapshot(userId, bounds);
+    }
+
+    @Override
+    public void unsubscribe(UUID userId, String sessionId) {
+        viewports.computeIfPresent(sessionId, (id, viewport) -> {
+            if (!viewport.userId().equals(userId)) {
+                return viewport;
+            }
+            unindex(id, viewport);
+            log.debug("Removed viewport of session {} of user {}", sessionId, userId);
+            return null;
+        });
+    }
+
+    @Override
+    public void sessionOpened(UUID userId, String sessionId) {
+        sessionsByUser.compute(userId, (id, sessions) -> {
+            Set<String> open = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            open.add(sessionId);
+            return open;
+        });
+    }
+
+    @Override
+    public void sessionClosed(UUID userId, String sessionId) {
+        unsubscribe(userId, sessionId);
+        sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * @return {@code true} if every session of the user known to this instance
+     *         has a map viewport, so friend locations reach the user only through them
+     */
+    public boolean viewsOnlyThroughViewports(UUID userId) {
+        Set<String> sessions = sessionsByUser.get(userId);
+        if (sessions == null || sessions.isEmpty()) {
+            return false;
+        }
+        for (String sessionId : sessions) {
+            if (!viewports.containsKey(sessionId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Delivers a saved location to every viewport containing its new or previous position.
+     *
+     * @param previous the location before the update, or {@code null}
+     * @param current  the saved location; ignored unless visible to friends
+     * @param data     the location update payload
+     */
+    public void publish(UserLocation previous, UserLocation current, Map<String, Object> data) {
+        if (!enabled || viewports.isEmpty() || !current.visibleToFriends()) {
+            return;
+        }
+
+        Set<String> candidates = new LinkedHashSet<>();
+        collectViewers(current, candidates);
+        if (previous != null) {
+            collectViewers(previous, candidates);
+        }
+
+        UUID ownerId = current.userId();
+        Set<UUID> viewers = new LinkedHashSet<>();
+        for (String sessionId : candidates) {
+            Viewport viewport = viewports.get(sessionId);
+            if (viewport == null || viewport.userId().equals(ownerId) || viewers.contains(viewport.userId())) {
+                continue;
+            }
+            boolean inside = contains(viewport.bounds(), current)
+                    || (previous != null && contains(viewport.bounds(), previous));
+            if (inside && viewsOnlyThroughViewports(viewport.userId())
+                    && friendGraph.areFriends(viewport.userId(), ownerId)) {
+                viewers.add(viewport.userId());
+            }
+        }
+        List<String> receivers = viewers.stream().map(UUID::toString).toList();
+
+        if (!receivers.isEmpty()) {
+            deliveries.increment(receivers.size());
+            notificationPort.sendToMany(NotificationType.LOCATION_UPDATE, ownerId.toString(), receivers, data);
+        }
+    }
+
+    private void collectViewers(UserLocation location, Set<String> viewers) {
+        String geohash = Geohash.encode(location.latitude(), location.longitude(), precision);
+        for (int length = 1; length <= geohash.length(); length++) {
+            Set<String> cellViewers = viewersByCell.get(geohash.substring(0, length));
+            if (cellViewers != null) {
+                viewers.addAll(cellViewers);
+            }
+        }
+    }
+
+    private void sendSnapshot(UUID userId, Envelope bounds) {
+        List<Map<String, Object>> locations = new ArrayList<>();
+        userLocationRepository.findLatestVisibleLocationsByUserIds(friendGraph.getFriendIds(userId)).stream()
+                .filter(location -> contains(bounds, location))
+                .forEach(location -> locations.add(toData(location)));
+
+        notificationPort.send(NotificationMessage.create(NotificationType.LOCATION_VIEWPORT_SNAPSHOT,
+                null, userId.toString(), Map.of("locations", locations)));
+    }
+
+    /**
+     * Cells at the finest precision that stays within {@code maxCells}.
+     */
+    private List<String> cover(Envelope bounds) {
+        for (int cellPrecision = precision; cellPrecision > 1; cellPrecision--) {
+            Optional<List<String>> cells = Geohash.cover(bounds, cellPrecision, maxCells);
+            if (cells.isPresent()) {
+                return cells.get();
+            }
+        }
+        return Geohash.cover(bounds, 1, Integer.MAX_VALUE).orElseThrow();
+    }
+
+    // Called while the session's entry in viewports is locked
+    private void unindex(String sessionId, Viewport viewport) {
+        viewport.cells().forEach(cell -> viewersByCell.computeIfPresent(cell, (key, viewers) -> {
+            viewers.remove(sessionId);
+            return viewers.isEmpty() ? null : viewers;
+        }));
+    }
+
+    private static boolean contains(Envelope bounds, UserLocation location) {
+        return bounds.contains(location.longitude(), location.latitude());
+    }
+
+    private static Envelope validBounds(double minLatitude, double minLongitude,
+                                        double maxLatitude, double maxLongitude) {
+        if (!(minLatitude >= -90.0 && maxLatitude <= 90.0 && minLatitude <= maxLatitude)) {
+            throw new IllegalArgumentException("Viewport latitudes must be within -90 and 90 with min <= max");
+        }
+        if (!(minLongitude >= -180.0 && maxLongitude <= 180.0 && minLongitude <= maxLongitude)) {
+            throw new IllegalArgumentException("Viewport longitudes must be within -180 and 180 with min <= max");
+        }
+        return new Envelope(minLongitude, minLatitude, maxLongitude, maxLatitude);
+    }
+
+    private static Map<String, Object> toData(UserLocation location) {
+        // Altitude and accuracy are optional, so Map.of cannot be used
+        Map<String, Object> data = new HashMap<>();
+        data.put("userId", location.userId().toString());
+        data.put("latitude", location.latitude());
+        data.put("longitude", location.longitude());
+        data.put("altitude", location.altitude());
+        data.put("accuracy", location.accuracy());
+        data.put("updatedAt", location.updatedAt());
+        return data;
+    }
+}
@@ -1,7 +1,9 @@
 package com.hackathon.safenet.application.service;
 
+import com.hackathon.safenet.application.service.alert.AlertGeofenceService;
 import com.hackathon.safenet.domain.model.User;
 import com.hackathon.safenet.domain.ports.inbound.SyncUserPort;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
 import com.hackathon.safenet.domain.ports.outbound.UserRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -58,6 +60,8 @@ import java.util.UUID;
 public class SyncUserService implements SyncUserPort {
 
     private final UserRepositoryPort userRepository;
+    private final UserLocationRepositoryPort userLocationRepository;
+    private final AlertGeofenceService alertGeofence;
 
     /**
      * Synchronizes user data from Keycloak to the local database.
@@ -145,7 +149,7 @@ public class SyncUserService implements SyncUserPort {
      * <ol>
      *   <li>Validate that the authentication ID is provided</li>
      *   <li>Check if the user exists in the database</li>
-     *   <li>Remove the user record if found</li>
+     *   <li>Remove the user's location and the user record if found</li>
      *   <li>Log the operation result</li>
      * </ol>
      * 
@@ -170,6 +174,8 @@ public class SyncUserService implements SyncUserPort {
             return; // Idempotent: already deleted
         }
 
+        userLocationRepository.deleteByUserId(id);
+        alertGeofence.forget(id);
         userRepository.deleteById(id);
         log.info("User deleted: id={}", id);
     }
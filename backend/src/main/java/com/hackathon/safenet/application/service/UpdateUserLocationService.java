@@ -1,12 +1,11 @@
 package com.hackathon.safenet.application.service;
 
+import com.hackathon.safenet.application.service.alert.AlertGeofenceService;
 import com.hackathon.safenet.domain.model.UserLocation;
 import com.hackathon.safenet.domain.model.User;
-import com.hackathon.safenet.domain.model.Friendship;
 import com.hackathon.safenet.domain.ports.inbound.UpdateUserLocationPort;
-import com.hackathon.safenet.domain.ports.outbound.FriendshipRepositoryPort;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
 import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
-import com.hackathon.safenet.domain.model.NotificationMessage;
 import com.hackathon.safenet.domain.enums.NotificationType;
 import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
 import com.hackathon.safenet.domain.ports.outbound.UserRepositoryPort;
@@ -15,9 +14,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -31,24 +31,30 @@ public class UpdateUserLocationService implements UpdateUserLocationPort {
 
     private final UserLocationRepositoryPort userLocationRepository;
     private final UserRepositoryPort userRepository;
-    private final FriendshipRepositoryPort friendshipRepository;
+    private final FriendGraphPort friendGraph;
     private final NotificationPort notificationPort;
+    private final LocationMovementFilter movementFilter;
+    private final AlertGeofenceService alertGeofence;
+    private final LocationViewportService viewports;
 
     @Override
-    public UserLocation updateLocation(UUID userId, BigDecimal latitude, BigDecimal longitude,
-                                       BigDecimal altitude, BigDecimal accuracy, Boolean visibleToFriends) {
+    public UserLocation updateLocation(UUID userId, double latitude, double longitude,
+                                       Double altitude, Double accuracy, Boolean visibleToFriends) {
         log.debug("Updating location for user {}", userId);
 
         if (userId == null) {
             throw new IllegalArgumentException("User ID is required");
         }
 
-        if (!userRepository.existsById(userId)) {
+        Optional<UserLocation> current = userLocationRepository.findLatestByUserId(userId);
+
+        // A user with a stored location is known to exist
+        if (current.isEmpty() && !userRepository.existsById(userId)) {
             throw new RuntimeException("User not found: " + userId);
         }
 
         // Domain model handles coordinate validation
-        UserLocation location = userLocationRepository.findLatestByUserId(userId)
+        UserLocation location = current
                 .map(existing -> existing.updateCoordinates(latitude, longitude, altitude, accuracy))
                 .orElseGet(() -> UserLocation.create(userId, latitude, longitude, altitude, accuracy,
                         visibleToFriends != null ? visibleToFriends : true));
@@ -57,11 +63,19 @@ public class UpdateUserLocationService implements UpdateUserLocationPort {
             location = location.updateVisibility(visibleToFriends);
         }
 
+        // Stationary devices keep reporting; skip the write and fan-out until they move
+        if (!movementFilter.accept(current.orElse(null), location)) {
+            log.debug("Suppressed location ping for user {}", userId);
+            return current.get();
+        }
+
         UserLocation saved = userLocationRepository.save(location);
         log.info("Location updated for user {}", userId);
 
+        alertGeofence.evaluate(userId, saved.latitude(), saved.longitude());
+
         if (saved.visibleToFriends()) {
-            notifyFriendsLocationUpdate(saved);
+            notifyFriendsLocationUpdate(current.orElse(null), saved);
         }
 
         return saved;
@@ -105,83 +119,67 @@ public class UpdateUserLocationService implements UpdateUserLocationPort {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
 
-        List<Friendship> friendships = friendshipRepository.findFriendshipsByUserId(userId);
-
-        for (Friendship friendship : friendships) {
-            UUID friendId = friendship.getOtherUserId(userId);
-            if (friendId == null) continue;
+        List<UUID> friendIds = friendGraph.getFriendIds(userId);
 
-            sendEmergencyNotification(friendId, user.username(), location, emergencyMessage);
-        }
+        sendEmergencyNotification(friendIds, user.username(), location, emergencyMessage);
 
-        log.info("Emergency location shared for user {} to {} friends", userId, friendships.size());
+        log.info("Emergency location shared for user {} to {} friends", userId, friendIds.size());
 
         return location;
     }
 
-    private void notifyFriendsLocationUpdate(UserLocation location) {
-        List<UUID> friendIds = friendshipRepository.findFriendsByUserId(location.userId())
-                .stream().map(User::id).toList();
-
-        Map<String, Object> data = Map.of(
-                "userId", location.userId().toString(),
-                "latitude", location.latitude(),
-                "longitude", location.longitude(),
-                "altitude", location.altitude(),
-                "accuracy", location.accuracy(),
-                "visible", location.visibleToFriends()
-        );
+    private void notifyFriendsLocationUpdate(UserLocation previous, UserLocation location) {
+        // Friends whose every session has a map viewport only receive the updates inside it
+        List<UUID> friendIds = friendGraph.getFriendIds(location.userId()).stream()
+                .filter(friendId -> !viewports.viewsOnlyThroughViewports(friendId))
+                .toList();
 
-        for (UUID friendId : friendIds) {
-            NotificationMessage notification = NotificationMessage.create(
-                    NotificationType.LOCATION_UPDATE,
-                    location.userId().toString(),
-                    friendId.toString(),
-                    data
-            );
-            notificationPort.send(notification);
-        }
+        Map<String, Object> data = locationData(location, location.visibleToFriends());
+
+        notificationPort.sendToMany(NotificationType.LOCATION_UPDATE, location.userId().toString(),
+                toReceiverIds(friendIds), data);
+        viewports.publish(previous, location, data);
     }
 
     private void notifyFriendsVisibilityChange(UserLocation location, boolean visible) {
-        List<UUID> friendIds = friendshipRepository.findFriendsByUserId(location.userId())
-                .stream().map(User::id).toList();
-
-        Map<String, Object> data = Map.of(
-                "userId", location.userId().toString(),
-                "latitude", location.latitude(),
-                "longitude", location.longitude(),
-                "altitude", location.altitude(),
-                "accuracy", location.accuracy(),
-                "visible", visible
-        );
+        List<UUID> friendIds = friendGraph.getFriendIds(location.userId());
+
+        Map<String, Object> data = locationData(location, visible);
 
         NotificationType type = visible ? NotificationType.LOCATION_SHARING_ENABLED
                 : NotificationType.LOCATION_SHARING_DISABLED;
 
-        for (UUID friendId : friendIds) {
-            NotificationMessage notification = NotificationMessage.create(
-                    type,
-                    location.userId().toString(),
-                    friendId.toString(),
-                    data
-            );
-            notificationPort.send(notification);
-        }
+        notificationPort.sendToMany(type, location.userId().toString(), toReceiverIds(friendIds), data);
     }
 
-    private void sendEmergencyNotification(UUID friendId, String userName,
+    private void sendEmergencyNotification(List<UUID> friendIds, String userName,
                                            UserLocation location, String message) {
-        NotificationMessage notification = NotificationMessage.create(
+        notificationPort.sendToMany(
                 NotificationType.EMERGENCY_ALERT,
                 userName,
-                friendId.toString(),
+                toReceiverIds(friendIds),
                 Map.of(
                         "latitude", location.latitude(),
                         "longitude", location.longitude(),
                         "message", message != null ? message : "Emergency situation"
                 )
         );
-        notificationPort.send(notification);
     }
-}
\ No newline at end of file
+
+    private static Map<String, Object> locationData(UserLocation location, boolean visible) {
+        // Altitude and accuracy are optional, so Map.of cannot be used
+        Map<String, Object> data = new HashMap<>();
+        data.put("userId", location.userId().toString());
+        data.put("latitude", location.latitude());
+        data.put("longitude", location.longitude());
+        data.put("altitude", location.altitude());
+        data.put("accuracy", location.accuracy());
+        data.put("visible", visible);
+        data.put("updatedAt", location.updatedAt());
+        return data;
+    }
+
+    private static List<String> toReceiverIds(List<UUID> friendIds) {
+        return friendIds.stream().map(UUID::toString).toList();
+    }
+}
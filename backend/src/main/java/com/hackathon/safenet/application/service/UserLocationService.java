@@ -1,9 +1,8 @@
 package com.hackathon.safenet.application.service;
 
-import com.hackathon.safenet.domain.model.User;
 import com.hackathon.safenet.domain.model.UserLocation;
 import com.hackathon.safenet.domain.ports.inbound.UserLocationPort;
-import com.hackathon.safenet.domain.ports.outbound.FriendshipRepositoryPort;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
 import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -40,7 +39,7 @@ import java.util.UUID;
 public class UserLocationService implements UserLocationPort {
 
     private final UserLocationRepositoryPort userLocationRepository;
-    private final FriendshipRepositoryPort friendshipRepository;
+    private final FriendGraphPort friendGraph;
 
     @Override
     @Transactional(readOnly = true)
@@ -48,9 +47,7 @@ public class UserLocationService implements UserLocationPort {
         log.debug("Getting friends' locations for user {}", userId);
         
         // Get all friend IDs
-        List<UUID> friendIds = friendshipRepository.findFriendsByUserId(userId).stream()
-                .map(User::id)
-                .toList();
+        List<UUID> friendIds = friendGraph.getFriendIds(userId);
         
         if (friendIds.isEmpty()) {
             return List.of();
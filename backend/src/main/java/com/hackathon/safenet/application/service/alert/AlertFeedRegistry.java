@@ -0,0 +1,42 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.application.service.meteo.MeteoAlarmService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All warning feeds to poll.
+ *
+ * <p>Contains one MeteoAlarm source per configured country plus every
+ * {@link AlertFeedSource} bean, e.g. DWD and GDACS. Adding a feed means adding
+ * a bean or a MeteoAlarm country; nothing else has to change.</p>
+ */
+@Slf4j
+public class AlertFeedRegistry {
+
+    private final List<AlertFeedSource> sources;
+
+    /**
+     * @param meteoAlarmCountries       MeteoAlarm feed countries, one source each
+     * @param meteoAlarmRefreshInterval upper bound between two polls of a MeteoAlarm feed
+     */
+    public AlertFeedRegistry(List<AlertFeedSource> feedSources,
+                             MeteoAlarmService meteoAlarmService,
+                             List<String> meteoAlarmCountries,
+                             Duration meteoAlarmRefreshInterval) {
+        List<AlertFeedSource> all = new ArrayList<>();
+        meteoAlarmCountries.forEach(country -> all.add(
+                new MeteoAlarmAlertSource(country, meteoAlarmService, meteoAlarmRefreshInterval)));
+        all.addAll(feedSources);
+        this.sources = List.copyOf(all);
+
+        log.info("Registered alert feed sources: {}", sources.stream().map(AlertFeedSource::getId).toList());
+    }
+
+    public List<AlertFeedSource> getSources() {
+        return sources;
+    }
+}
@@ -0,0 +1,83 @@
+package com.hackathon.safenet.application.service.alert;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Polls every registered feed source on its own schedule (REQUIREMENTS NFR-5).
+ *
+ * <p>The scheduler thread only triggers polls; each poll runs on its own
+ * virtual thread, so slow or hanging upstreams never delay the others. After a
+ * successful poll the next one is due after the source's poll interval, after
+ * a failure after {@code safenet.alerts.retry-interval}.</p>
+ */
+@Slf4j
+public class AlertFeedScheduler {
+
+    private final AlertFeedRegistry registry;
+    private final AlertIngestionService ingestionService;
+    private final TaskScheduler taskScheduler;
+    private final boolean pollingEnabled;
+    private final Duration retryInterval;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public AlertFeedScheduler(AlertFeedRegistry registry,
+                              AlertIngestionService ingestionService,
+                              TaskScheduler taskScheduler,
+                              boolean pollingEnabled,
+                              Duration retryInterval) {
+        this.registry = registry;
+        this.ingestionService = ingestionService;
+        this.taskScheduler = taskScheduler;
+        this.pollingEnabled = pollingEnabled;
+        this.retryInterval = retryInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!pollingEnabled) {
+            log.info("Alert feed polling disabled");
+            return;
+        }
+        registry.getSources().forEach(source -> schedule(source, Duration.ZERO));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void schedule(AlertFeedSource source, Duration delay) {
+        taskScheduler.schedule(() -> {
+            try {
+                executor.execute(() -> poll(source));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }, Instant.now().plus(delay));
+    }
+
+    private void poll(AlertFeedSource source) {
+        Duration nextPoll;
+        try {
+            source.poll().ifPresent(alerts -> ingestionService.update(source, alerts));
+            nextPoll = source.getPollInterval();
+        } catch (Exception e) {
+            log.warn("Alert source {} poll failed, retrying in {}: {}",
+                    source.getId(), retryInterval, e.getMessage());
+            nextPoll = retryInterval;
+        }
+        if (!executor.isShutdown()) {
+            schedule(source, nextPoll);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.domain.model.alert.Alert;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A warning feed polled by the {@link AlertFeedScheduler}.
+ *
+ * <p>Every Spring bean implementing this interface is picked up by the
+ * {@link AlertFeedRegistry}; MeteoAlarm countries are registered from
+ * configuration. Each source fetches and parses its own feed and normalizes it
+ * into {@link Alert}s.</p>
+ */
+public interface AlertFeedSource {
+
+    /**
+     * @return unique id of the source, e.g. {@code dwd} or {@code meteoalarm-germany}
+     */
+    String getId();
+
+    /**
+     * When several sources report the same warning, the one with the lowest
+     * priority value is kept.
+     */
+    int getPriority();
+
+    /**
+     * @return delay until the next poll after a successful one
+     */
+    Duration getPollInterval();
+
+    /**
+     * Fetches the feed.
+     *
+     * @return all current warnings of this source, or empty if the feed has not changed
+     * @throws RuntimeException if the feed cannot be fetched or parsed
+     */
+    Optional<List<Alert>> poll();
+}
@@ -0,0 +1,212 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Tells users when their position enters or leaves a warning area.
+ *
+ * <p>For every user with an accepted position the alerts containing that
+ * position are remembered. A notification is only sent on a transition: a
+ * {@link NotificationType#WEATHER_ALERT_ENTERED} when an alert starts to
+ * contain the position and a {@link NotificationType#WEATHER_ALERT_EXITED}
+ * when it no longer does, either because the user moved or the alert ended.</p>
+ *
+ * <p>Both paths are lookups in the {@link AlertSpatialIndex}: a new position
+ * costs one point query, and a new alert snapshot re-checks every known
+ * position with one point query each instead of testing every position
+ * against every polygon.</p>
+ *
+ * <p>A position is evaluated against the index that is current inside the
+ * per-user update, so it cannot overwrite the result of a newer snapshot.
+ * Snapshots are published one after another by the ingestion service.</p>
+ *
+ * <p>Positions stored shortly before startup are known too: the first
+ * snapshot seeds them from the location repository without notifying, since
+ * their users may have been told about those alerts before the restart. Every
+ * later snapshot re-checks them like positions reported since.</p>
+ */
+@Slf4j
+public class AlertGeofenceService {
+
+    // Last position and the alerts containing it
+    private record Fence(double latitude, double longitude, List<Alert> alerts) {
+    }
+
+    private record Transitions(List<Alert> entered, List<Alert> exited) {
+        static final Transitions NONE = new Transitions(List.of(), List.of());
+    }
+
+    private final AlertIngestionService ingestionService;
+    private final UserLocationRepositoryPort locationRepository;
+    private final NotificationPort notificationPort;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration seedMaxAge;
+    private final AtomicBoolean seeded = new AtomicBoolean();
+    private final Counter entered;
+    private final Counter exited;
+
+    private final Map<UUID, Fence> fences = new ConcurrentHashMap<>();
+
+    /**
+     * @param seedMaxAge how recent a stored position must be to be seeded on the first snapshot
+     */
+    public AlertGeofenceService(AlertIngestionService ingestionService,
+                                UserLocationRepositoryPort locationRepository,
+                                NotificationPort notificationPort,
+                                MeterRegistry meterRegistry,
+                                boolean enabled,
+                                Duration seedMaxAge) {
+        this.ingestionService = ingestionService;
+        this.locationRepository = locationRepository;
+        this.notificationPort = notificationPort;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.seedMaxAge = seedMaxAge;
+        this.entered = meterRegistry.counter("safenet.alerts.geofence.transitions", "direction", "entered");
+        this.exited = meterRegistry.counter("safenet.alerts.geofence.transitions", "direction", "exited");
+    }
+
+    /**
+     * Checks an accepted position against the current alerts.
+     */
+    public void evaluate(UUID userId, double latitude, double longitude) {
+        if (!enabled) {
+            return;
+        }
+        Transitions[] transitions = {Transitions.NONE};
+        fences.compute(userId, (id, previous) -> {
+            List<Alert> inside = ingestionService.getIndex().findAlertsAt(latitude, longitude);
+            transitions[0] = diff(previous != null ? previous.alerts() : List.of(), inside);
+            return new Fence(latitude, longitude, inside);
+        });
+        notify(userId, transitions[0]);
+    }
+
+    /**
+     * Re-checks every known position against a new alert snapshot.
+     */
+    @EventListener
+    public void onSnapshot(AlertSnapshotEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (seeded.compareAndSet(false, true)) {
+            seed(event.index());
+        }
+        if (fences.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Map<UUID, Transitions> changed = new HashMap<>();
+        for (UUID userId : fences.keySet()) {
+            fences.computeIfPresent(userId, (id, fence) -> {
+                List<Alert> inside = event.index().findAlertsAt(fence.latitude(), fence.longitude());
+                Transitions transitions = diff(fence.alerts(), inside);
+                if (transitions != Transitions.NONE) {
+                    changed.put(id, transitions);
+                }
+                return new Fence(fence.latitude(), fence.longitude(), inside);
+            });
+        }
+        changed.forEach(this::notify);
+        sample.stop(meterRegistry.timer("safenet.alerts.geofence.bulk"));
+        log.debug("Re-checked {} positions against {} alerts, {} users with transitions",
+                fences.size(), event.alerts().size(), changed.size());
+    }
+
+    /**
+     * Adds the recently stored positions of users who have not reported one
+     * since startup, with the alerts containing them and without notifying.
+     */
+    private void seed(AlertSpatialIndex index) {
+        List<UserLocation> recent;
+        try {
+            recent = locationRepository.findRecentLocations(Instant.now().minus(seedMaxAge));
+        } catch (Exception e) {
+            log.error("Failed to seed alert geofences from stored locations: {}", e.getMessage());
+            return;
+        }
+        int added = 0;
+        for (UserLocation location : recent) {
+            Fence fence = new Fence(location.latitude(), location.longitude(),
+                    index.findAlertsAt(location.latitude(), location.longitude()));
+            if (fences.putIfAbsent(location.userId(), fence) == null) {
+                added++;
+            }
+        }
+        log.info("Seeded alert geofences with {} stored positions", added);
+    }
+
+    /**
+     * Drops the state of a deleted user.
+     */
+    public void forget(UUID userId) {
+        fences.remove(userId);
+    }
+
+    private static Transitions diff(List<Alert> before, List<Alert> after) {
+        if (before.isEmpty() && after.isEmpty()) {
+            return Transitions.NONE;
+        }
+        Set<String> beforeIds = before.stream().map(Alert::getId).collect(Collectors.toSet());
+        Set<String> afterIds = after.stream().map(Alert::getId).collect(Collectors.toSet());
+        List<Alert> entered = new ArrayList<>();
+        after.forEach(alert -> {
+            if (!beforeIds.contains(alert.getId())) {
+                entered.add(alert);
+            }
+        });
+        List<Alert> exited = new ArrayList<>();
+        before.forEach(alert -> {
+            if (!afterIds.contains(alert.getId())) {
+                exited.add(alert);
+            }
+        });
+        return entered.isEmpty() && exited.isEmpty() ? Transitions.NONE : new Transitions(entered, exited);
+    }
+
+    private void notify(UUID userId, Transitions transitions) {
+        transitions.entered().forEach(alert -> send(NotificationType.WEATHER_ALERT_ENTERED, userId, alert, entered));
+        transitions.exited().forEach(alert -> send(NotificationType.WEATHER_ALERT_EXITED, userId, alert, exited));
+    }
+
+    private void send(NotificationType type, UUID userId, Alert alert, Counter counter) {
+        counter.increment();
+        Map<String, Object> data = new HashMap<>();
+        data.put("alertId", alert.getId());
+        data.put("source", alert.getSource());
+        data.put("title", alert.getTitle());
+        data.put("eventType", alert.getEventType());
+        data.put("severity", alert.getSeverity());
+        data.put("region", alert.getRegion());
+        data.put("validUntil", alert.getValidUntil());
+        try {
+            notificationPort.send(NotificationMessage.create(type, null, userId.toString(), data));
+        } catch (Exception e) {
+            log.error("Failed to send {} to user {}: {}", type, userId, e.getMessage());
+        }
+    }
+}
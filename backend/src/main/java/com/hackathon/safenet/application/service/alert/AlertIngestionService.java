@@ -0,0 +1,149 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.application.util.geo.Envelope;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
+import com.hackathon.safenet.domain.ports.inbound.AlertPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Merged in-memory snapshot of the warnings of all feed sources.
+ *
+ * <p>Each successful poll replaces the alerts of its source and rebuilds the
+ * merged list, so reads never touch an upstream and cost the same no matter
+ * how many feeds are configured. The same warning reported by several sources,
+ * e.g. DWD and MeteoAlarm Germany, is kept once from the source with the
+ * lowest priority value. Two alerts are the same warning if region, event
+ * type, severity and validity match.</p>
+ *
+ * <p>Together with the merged list an {@link AlertSpatialIndex} is built, so
+ * location queries are answered from the index instead of a scan. Every new
+ * snapshot is published as an {@link AlertSnapshotEvent}.</p>
+ */
+@Slf4j
+@Service
+public class AlertIngestionService implements AlertPort {
+
+    private record SourceAlerts(int priority, List<Alert> alerts) {
+    }
+
+    // Swapped as one so list and index always belong together
+    private record Snapshot(List<Alert> alerts, AlertSpatialIndex index) {
+    }
+
+    private final RegionBoundaryCatalog regionBoundaryCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, SourceAlerts> alertsBySource = new ConcurrentHashMap<>();
+    // Not a monitor: updates run on virtual threads and publish to listeners that may block
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), AlertSpatialIndex.EMPTY);
+
+    public AlertIngestionService(RegionBoundaryCatalog regionBoundaryCatalog,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.regionBoundaryCatalog = regionBoundaryCatalog;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("safenet.alerts.unlocated", this, service -> service.snapshot.index().unlocated())
+                .description("Merged alerts without a known boundary or point, left out of location queries")
+                .register(meterRegistry);
+    }
+
+    public List<Alert> getAlerts() {
+        return snapshot.alerts();
+    }
+
+    public List<Alert> findAlertsAt(double latitude, double longitude) {
+        return snapshot.index().findAlertsAt(latitude, longitude);
+    }
+
+    public List<Alert> findAlertsWithin(double minLatitude, double minLongitude,
+                                        double maxLatitude, double maxLongitude) {
+        return snapshot.index().findAlertsWithin(new Envelope(minLongitude, minLatitude, maxLongitude, maxLatitude));
+    }
+
+    /**
+     * @return the spatial index of the current snapshot
+     */
+    public AlertSpatialIndex getIndex() {
+        return snapshot.index();
+    }
+
+    /**
+     * Replaces all alerts of a source.
+     */
+    public void update(AlertFeedSource source, List<Alert> alerts) {
+        updateLock.lock();
+        try {
+            alertsBySource.put(source.getId(), new SourceAlerts(source.getPriority(), List.copyOf(alerts)));
+            List<Alert> merged = merge();
+            AlertSpatialIndex index = AlertSpatialIndex.build(merged, regionBoundaryCatalog);
+            snapshot = new Snapshot(merged, index);
+            log.info("Alert source {} has {} alerts, {} merged in total, {} located",
+                    source.getId(), alerts.size(), merged.size(), index.size());
+            if (index.unlocated() > 0) {
+                log.warn("{} merged alerts have no known region boundary and are left out of location queries",
+                        index.unlocated());
+            }
+
+            eventPublisher.publishEvent(new AlertSnapshotEvent(merged, index));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    private List<Alert> merge() {
+        List<SourceAlerts> byPriority = alertsBySource.values().stream()
+                .sorted(Comparator.comparingInt(SourceAlerts::priority))
+                .toList();
+
+        Set<String> ids = new HashSet<>();
+        Set<String> warnings = new HashSet<>();
+        List<Alert> result = new ArrayList<>();
+        for (SourceAlerts source : byPriority) {
+            for (Alert alert : source.alerts()) {
+                String warning = warningKey(alert);
+                if (ids.add(alert.getId()) && (warning == null || warnings.add(warning))) {
+                    result.add(alert);
+                }
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Source-independent identity of a warning, or {@code null} if the alert
+     * lacks the fields to compare it with other sources. Every source reports
+     * its validity in UTC, so the times are comparable as they are.
+     */
+    private static String warningKey(Alert alert) {
+        if (alert.getRegion() == null || alert.getEventType() == null || alert.getValidFrom() == null) {
+            return null;
+        }
+        return MeteoAlarmItem.slug(alert.getRegion())
+                + '|' + alert.getEventType()
+                + '|' + alert.getSeverity()
+                + '|' + minutes(alert.getValidFrom())
+                + '|' + minutes(alert.getValidUntil());
+    }
+
+    private static LocalDateTime minutes(LocalDateTime time) {
+        return time != null ? time.truncatedTo(ChronoUnit.MINUTES) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.domain.model.alert.Alert;
+
+import java.util.List;
+
+/**
+ * Published after the merged alert snapshot has been replaced.
+ *
+ * @param alerts the merged alerts of all sources
+ * @param index  the spatial index over these alerts
+ */
+public record AlertSnapshotEvent(List<Alert> alerts, AlertSpatialIndex index) {
+}
@@ -0,0 +1,97 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.application.util.geo.Envelope;
+import com.hackathon.safenet.application.util.geo.GeoShape;
+import com.hackathon.safenet.application.util.geo.StrTree;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable STR-tree over the areas of a set of alerts.
+ *
+ * <p>Alerts are indexed by the boundary of their region or, for sources that
+ * locate events by coordinates, by their point. Point queries descend only into
+ * nodes whose bounds contain the point and then run an exact point-in-polygon
+ * test on the few remaining candidates. Rebuilt whenever the merged alert
+ * snapshot changes.</p>
+ */
+@Slf4j
+public final class AlertSpatialIndex {
+
+    static final AlertSpatialIndex EMPTY = new AlertSpatialIndex(new StrTree<>(List.of()), 0);
+
+    /**
+     * An alert with its area; {@code shape} is {@code null} for point alerts.
+     */
+    record Located(Alert alert, GeoShape shape) {
+    }
+
+    private final StrTree<Located> tree;
+    private final int unlocated;
+
+    private AlertSpatialIndex(StrTree<Located> tree, int unlocated) {
+        this.tree = tree;
+        this.unlocated = unlocated;
+    }
+
+    /**
+     * Indexes every alert that can be located; the others are skipped.
+     */
+    static AlertSpatialIndex build(List<Alert> alerts, RegionBoundaryCatalog catalog) {
+        List<StrTree.Entry<Located>> entries = new ArrayList<>();
+        int unlocated = 0;
+        for (Alert alert : alerts) {
+            GeoShape shape = catalog.locate(alert).orElse(null);
+            if (shape != null) {
+                entries.add(new StrTree.Entry<>(shape.getEnvelope(), new Located(alert, shape)));
+            } else if (alert.getLatitude() != null && alert.getLongitude() != null) {
+                entries.add(new StrTree.Entry<>(
+                        Envelope.ofPoint(alert.getLongitude(), alert.getLatitude()),
+                        new Located(alert, null)));
+            } else {
+                unlocated++;
+                log.debug("No boundary for region {} of alert {}", alert.getRegion(), alert.getId());
+            }
+        }
+        return new AlertSpatialIndex(new StrTree<>(entries), unlocated);
+    }
+
+    /**
+     * @return number of located alerts
+     */
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * @return number of alerts left out because neither their region nor a point was known
+     */
+    public int unlocated() {
+        return unlocated;
+    }
+
+    /**
+     * Alerts whose area contains the position. Point alerts never match.
+     */
+    public List<Alert> findAlertsAt(double latitude, double longitude) {
+        List<Alert> result = new ArrayList<>(2);
+        tree.query(longitude, latitude, located -> {
+            if (located.shape() != null && located.shape().contains(longitude, latitude)) {
+                result.add(located.alert());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Alerts whose area bounds intersect the box.
+     */
+    public List<Alert> findAlertsWithin(Envelope box) {
+        List<Alert> result = new ArrayList<>();
+        tree.query(box, located -> result.add(located.alert()));
+        return result;
+    }
+}
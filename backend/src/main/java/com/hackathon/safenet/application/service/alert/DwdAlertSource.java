@@ -0,0 +1,123 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.safenet.domain.enums.AlertSeverity;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.ports.outbound.FeedPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Warnings of the Deutscher Wetterdienst from its warning app feed.
+ *
+ * <p>The feed is JSONP: {@code warnWetter.loadWarnings({...});} with the
+ * warnings grouped by warn cell. DWD is the primary source for Germany and
+ * wins over MeteoAlarm when both report the same warning.</p>
+ */
+public class DwdAlertSource implements AlertFeedSource {
+
+    private static final String UPSTREAM = "dwd";
+
+    // DWD warning types 0..9
+    private static final String[] EVENT_TYPES = {
+            "thunderstorm", "wind", "rain", "snow-ice", "fog", "low-temperature", "snow-ice", "thaw",
+            "high-temperature", "uv"
+    };
+
+    private final FeedPort feedPort;
+    private final ObjectMapper objectMapper;
+    private final URI feedUri;
+    private final Duration pollInterval;
+
+    public DwdAlertSource(FeedPort feedPort, ObjectMapper objectMapper, URI feedUri, Duration pollInterval) {
+        this.feedPort = feedPort;
+        this.objectMapper = objectMapper;
+        this.feedUri = feedUri;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public String getId() {
+        return UPSTREAM;
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    @Override
+    public Optional<List<Alert>> poll() {
+        return feedPort.fetchFeed(UPSTREAM, feedUri, this::parse);
+    }
+
+    private List<Alert> parse(InputStream feed) throws IOException {
+        String body = new String(feed.readAllBytes(), StandardCharsets.UTF_8);
+        int start = body.indexOf('(');
+        int end = body.lastIndexOf(')');
+        JsonNode root = objectMapper.readTree(start >= 0 && end > start ? body.substring(start + 1, end) : body);
+
+        List<Alert> alerts = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> cell : root.path("warnings").properties()) {
+            for (JsonNode warning : cell.getValue()) {
+                alerts.add(toAlert(cell.getKey(), warning));
+            }
+        }
+        return alerts;
+    }
+
+    private Alert toAlert(String warnCell, JsonNode warning) {
+        long start = warning.path("start").asLong();
+        return Alert.builder()
+                .id("dwd:" + warnCell + ":" + warning.path("type").asInt() + ":" + start)
+                .source(UPSTREAM)
+                .title(text(warning, "headline"))
+                .description(text(warning, "description"))
+                .eventType(eventType(warning.path("type").asInt(-1)))
+                .severity(severity(warning.path("level").asInt()))
+                .country("germany")
+                .region(text(warning, "regionName"))
+                .state(text(warning, "state"))
+                .validFrom(toUtc(start))
+                .validUntil(warning.hasNonNull("end") ? toUtc(warning.path("end").asLong()) : null)
+                .build();
+    }
+
+    private static String text(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private static LocalDateTime toUtc(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    private static AlertSeverity severity(int level) {
+        return switch (level) {
+            case 2, 10 -> AlertSeverity.MODERATE;
+            case 3, 11 -> AlertSeverity.SEVERE;
+            case 4 -> AlertSeverity.EXTREME;
+            default -> AlertSeverity.MINOR;
+        };
+    }
+
+    private static String eventType(int type) {
+        return type >= 0 && type < EVENT_TYPES.length ? EVENT_TYPES[type] : null;
+    }
+}
@@ -0,0 +1,191 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.domain.enums.AlertSeverity;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.ports.outbound.FeedPort;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Worldwide disaster alerts of the Global Disaster Alert and Coordination System.
+ *
+ * <p>The RSS feed is streamed with StAX. Only current events are kept; each
+ * carries its epicentre as {@code geo:lat}/{@code geo:long}.</p>
+ */
+public class GdacsAlertSource implements AlertFeedSource {
+
+    private static final String UPSTREAM = "gdacs";
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static final Map<String, String> EVENT_TYPES = Map.of(
+            "EQ", "earthquake",
+            "TC", "tropical-cyclone",
+            "FL", "flood",
+            "VO", "volcano",
+            "DR", "drought",
+            "WF", "forest-fire",
+            "TS", "tsunami");
+
+    private final FeedPort feedPort;
+    private final URI feedUri;
+    private final Duration pollInterval;
+
+    public GdacsAlertSource(FeedPort feedPort, URI feedUri, Duration pollInterval) {
+        this.feedPort = feedPort;
+        this.feedUri = feedUri;
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public String getId() {
+        return UPSTREAM;
+    }
+
+    @Override
+    public int getPriority() {
+        return 2;
+    }
+
+    @Override
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    @Override
+    public Optional<List<Alert>> poll() {
+        return feedPort.fetchFeed(UPSTREAM, feedUri, this::parse);
+    }
+
+    private List<Alert> parse(InputStream feed) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(feed);
+            List<Alert> alerts = new ArrayList<>();
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "item".equals(reader.getLocalName())) {
+                    Alert alert = toAlert(readItem(reader));
+                    if (alert != null) {
+                        alerts.add(alert);
+                    }
+                }
+            }
+            return alerts;
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed GDACS feed", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Nothing left to release
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the text of all leaf elements of an item, keyed by local name.
+     * The first occurrence of a name wins.
+     */
+    private static Map<String, String> readItem(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> fields = new HashMap<>();
+        StringBuilder text = new StringBuilder();
+        int depth = 0;
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    depth++;
+                    text.setLength(0);
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text.append(reader.getText());
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (depth-- == 0) {
+                        return fields;
+                    }
+                    fields.putIfAbsent(reader.getLocalName(), text.toString().trim());
+                    text.setLength(0);
+                }
+                default -> {
+                    // Comments and processing instructions carry no text
+                }
+            }
+        }
+        return fields;
+    }
+
+    private Alert toAlert(Map<String, String> item) {
+        if ("false".equalsIgnoreCase(item.get("iscurrent"))) {
+            return null;
+        }
+        return Alert.builder()
+                .id("gdacs:" + item.getOrDefault("guid", item.get("link")))
+                .source(UPSTREAM)
+                .title(item.get("title"))
+                .description(item.get("description"))
+                .eventType(EVENT_TYPES.get(item.get("eventtype")))
+                .severity(severity(item.get("alertlevel")))
+                .country(item.get("country"))
+                .link(item.get("link"))
+                .latitude(parseDouble(item.get("lat")))
+                .longitude(parseDouble(item.get("long")))
+                .published(parseDate(item.get("pubDate")))
+                .validFrom(parseDate(item.get("fromdate")))
+                .validUntil(parseDate(item.get("todate")))
+                .build();
+    }
+
+    private static AlertSeverity severity(String alertLevel) {
+        if (alertLevel == null) {
+            return AlertSeverity.MINOR;
+        }
+        return switch (alertLevel.toLowerCase()) {
+            case "orange" -> AlertSeverity.SEVERE;
+            case "red" -> AlertSeverity.EXTREME;
+            default -> AlertSeverity.MINOR;
+        };
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return value != null ? Double.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        try {
+            return value != null
+                    ? ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime()
+                    : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.hackathon.safenet.application.service.meteo.MeteoAlarmService;
+import com.hackathon.safenet.domain.enums.AlertSeverity;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * MeteoAlarm feed of one country.
+ *
+ * <p>Fetching and parsing is done by the {@link MeteoAlarmService}, which also
+ * keeps the language snapshots of the {@code /api/weather} endpoints, so the
+ * feed is only downloaded once. The English items are normalized; green
+ * (no warning) items are skipped.</p>
+ */
+class MeteoAlarmAlertSource implements AlertFeedSource {
+
+    // MeteoAlarm awareness types 1..13
+    private static final String[] EVENT_TYPES = {
+            null, "wind", "snow-ice", "thunderstorm", "fog", "high-temperature", "low-temperature",
+            "coastal", "forest-fire", "avalanche", "rain", null, "flood", "rain-flood"
+    };
+
+    private final String country;
+    private final MeteoAlarmService meteoAlarmService;
+    private final Duration refreshInterval;
+
+    MeteoAlarmAlertSource(String country, MeteoAlarmService meteoAlarmService, Duration refreshInterval) {
+        this.country = country;
+        this.meteoAlarmService = meteoAlarmService;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public String getId() {
+        return "meteoalarm-" + country;
+    }
+
+    @Override
+    public int getPriority() {
+        return 1;
+    }
+
+    /**
+     * The configured refresh interval or the channel ttl, whichever is shorter.
+     */
+    @Override
+    public Duration getPollInterval() {
+        MeteoAlarmResponse snapshot = meteoAlarmService.getSnapshot(country, "english");
+        Integer ttlMinutes = snapshot != null ? snapshot.getTtl() : null;
+        if (ttlMinutes != null && ttlMinutes > 0) {
+            Duration ttl = Duration.ofMinutes(ttlMinutes);
+            if (ttl.compareTo(refreshInterval) < 0) {
+                return ttl;
+            }
+        }
+        return refreshInterval;
+    }
+
+    @Override
+    public Optional<List<Alert>> poll() {
+        if (!meteoAlarmService.refresh(country)) {
+            return Optional.empty();
+        }
+        return Optional.of(meteoAlarmService.getSnapshot(country, "english").getItems().stream()
+                .map(this::toAlert)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private Alert toAlert(MeteoAlarmItem item) {
+        AlertSeverity severity = severity(item.getAwarenessLevel());
+        if (severity == null) {
+            return null;
+        }
+        return Alert.builder()
+                .id("meteoalarm:" + (item.getGuid() != null ? item.getGuid() : item.getTitle()))
+                .source(getId())
+                .title(item.getTitle())
+                .description(item.getDescription())
+                .eventType(eventType(item.getAwarenessType()))
+                .severity(severity)
+                .country(country)
+                .region(item.getRegion())
+                .link(item.getLink())
+                .published(item.getPubDate())
+                .validFrom(item.getValidFrom())
+                .validUntil(item.getValidUntil())
+                .build();
+    }
+
+    private static AlertSeverity severity(Integer awarenessLevel) {
+        if (awarenessLevel == null) {
+            return null;
+        }
+        return switch (awarenessLevel) {
+            case 2 -> AlertSeverity.MINOR;
+            case 3 -> AlertSeverity.MODERATE;
+            case 4 -> AlertSeverity.SEVERE;
+            default -> null;
+        };
+    }
+
+    private static String eventType(Integer awarenessType) {
+        if (awarenessType == null || awarenessType < 0 || awarenessType >= EVENT_TYPES.length) {
+            return null;
+        }
+        return EVENT_TYPES[awarenessType];
+    }
+}
@@ -0,0 +1,104 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.safenet.application.util.geo.GeoShape;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Offline geocoder from region names to boundaries.
+ *
+ * <p>Loads a GeoJSON FeatureCollection of Polygon/MultiPolygon features at
+ * startup. Each feature is found by its {@code name} property and by every
+ * entry of its optional {@code aliases} array, compared as slugs so case,
+ * umlauts and punctuation do not matter. The bundled file contains coarse
+ * outlines of the German states, so only state-wide warnings are located with
+ * it; a file with county boundaries can be configured with
+ * {@code safenet.alerts.region-boundaries}.</p>
+ */
+@Slf4j
+public class RegionBoundaryCatalog {
+
+    private final Map<String, GeoShape> shapesBySlug;
+
+    /**
+     * @param location resource location of the GeoJSON file, e.g. {@code classpath:geo/germany-states.geojson}
+     */
+    public RegionBoundaryCatalog(ResourceLoader resourceLoader,
+                                 ObjectMapper objectMapper,
+                                 String location) {
+        try (InputStream in = resourceLoader.getResource(location).getInputStream()) {
+            this.shapesBySlug = Map.copyOf(parse(objectMapper.readTree(in)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load region boundaries from " + location, e);
+        }
+        log.info("Loaded {} region names from {}", shapesBySlug.size(), location);
+    }
+
+    /**
+     * Locates an alert by its own region. The state is deliberately not used
+     * as a fallback: a county warning would then cover its whole state.
+     */
+    public Optional<GeoShape> locate(Alert alert) {
+        return find(alert.getRegion());
+    }
+
+    public Optional<GeoShape> find(String regionName) {
+        return regionName != null
+                ? Optional.ofNullable(shapesBySlug.get(MeteoAlarmItem.slug(regionName)))
+                : Optional.empty();
+    }
+
+    private static Map<String, GeoShape> parse(JsonNode collection) {
+        Map<String, GeoShape> shapes = new HashMap<>();
+        for (JsonNode feature : collection.path("features")) {
+            GeoShape shape = toShape(feature.path("geometry"));
+            if (shape == null) {
+                continue;
+            }
+            JsonNode properties = feature.path("properties");
+            shapes.put(MeteoAlarmItem.slug(properties.path("name").asText()), shape);
+            for (JsonNode alias : properties.path("aliases")) {
+                shapes.putIfAbsent(MeteoAlarmItem.slug(alias.asText()), shape);
+            }
+        }
+        return shapes;
+    }
+
+    private static GeoShape toShape(JsonNode geometry) {
+        List<List<double[]>> polygons = new ArrayList<>();
+        switch (geometry.path("type").asText()) {
+            case "Polygon" -> polygons.add(toRings(geometry.path("coordinates")));
+            case "MultiPolygon" -> geometry.path("coordinates").forEach(polygon -> polygons.add(toRings(polygon)));
+            default -> {
+                return null;
+            }
+        }
+        return new GeoShape(polygons);
+    }
+
+    private static List<double[]> toRings(JsonNode polygon) {
+        List<double[]> rings = new ArrayList<>();
+        for (JsonNode ring : polygon) {
+            double[] coordinates = new double[ring.size() * 2];
+            for (int i = 0; i < ring.size(); i++) {
+                coordinates[2 * i] = ring.get(i).get(0).asDouble();
+                coordinates[2 * i + 1] = ring.get(i).get(1).asDouble();
+            }
+            rings.add(coordinates);
+        }
+        return rings;
+    }
+}
@@ -0,0 +1,43 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmDelta;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies feed items as added, changed or expired between two polls.
+ * Items are matched by {@code guid}, or by title for items without one.
+ */
+public final class MeteoAlarmDiffer {
+
+    private MeteoAlarmDiffer() {
+    }
+
+    public static MeteoAlarmDelta diff(String language, List<MeteoAlarmItem> previous, List<MeteoAlarmItem> current) {
+        Map<String, MeteoAlarmItem> previousByKey = new HashMap<>(previous.size() * 2);
+        previous.forEach(item -> previousByKey.put(key(item), item));
+
+        List<MeteoAlarmItem> added = new ArrayList<>();
+        List<MeteoAlarmItem> changed = new ArrayList<>();
+        for (MeteoAlarmItem item : current) {
+            MeteoAlarmItem before = previousByKey.remove(key(item));
+            if (before == null) {
+                added.add(item);
+            } else if (!before.equals(item)) {
+                changed.add(item);
+            }
+        }
+
+        // Whatever was not matched is gone from the feed
+        List<MeteoAlarmItem> expired = List.copyOf(previousByKey.values());
+        return new MeteoAlarmDelta(language, List.copyOf(added), List.copyOf(changed), expired);
+    }
+
+    private static String key(MeteoAlarmItem item) {
+        return item.getGuid() != null ? item.getGuid() : "title:" + item.getTitle();
+    }
+}
@@ -0,0 +1,155 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Streaming StAX reader for the MeteoAlarm RSS feed.
+ *
+ * <p>Reads the feed straight from the response stream and hands every
+ * {@code <item>} to a callback as soon as its closing tag is read, so memory
+ * use does not grow with the feed. The character encoding is taken from the
+ * XML declaration.</p>
+ *
+ * <p>The factory does not support DTDs or external entities (XXE).</p>
+ */
+public final class MeteoAlarmFeedReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    /** Channel metadata of the feed. */
+    public record Channel(String title, String description, String link, String language, Integer ttl) {
+    }
+
+    /** Raw text of one feed item. */
+    public record RawItem(String title, String description, String link, String guid, String pubDate) {
+    }
+
+    private MeteoAlarmFeedReader() {
+    }
+
+    /**
+     * Reads a feed.
+     *
+     * @param feed   the RSS document
+     * @param onItem receives each item in document order
+     * @return the channel metadata
+     * @throws IOException if the stream is not a readable feed
+     */
+    public static Channel read(InputStream feed, Consumer<RawItem> onItem) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = FACTORY.createXMLStreamReader(feed);
+            return readDocument(reader, onItem);
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed MeteoAlarm feed", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // Nothing left to release
+                }
+            }
+        }
+    }
+
+    private static Channel readDocument(XMLStreamReader reader, Consumer<RawItem> onItem) throws XMLStreamException {
+        String title = null;
+        String description = null;
+        String link = null;
+        String language = null;
+        String ttl = null;
+
+        boolean inChannel = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "channel".equals(reader.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            switch (reader.getLocalName()) {
+                case "channel" -> inChannel = true;
+                case "item" -> onItem.accept(readItem(reader));
+                case "title" -> title = inChannel && title == null ? text(reader) : title;
+                case "description" -> description = inChannel && description == null ? text(reader) : description;
+                case "link" -> link = inChannel && link == null ? text(reader) : link;
+                case "language" -> language = inChannel && language == null ? text(reader) : language;
+                case "ttl" -> ttl = inChannel && ttl == null ? text(reader) : ttl;
+                default -> {
+                    // Elements the API does not expose, e.g. channel images
+                }
+            }
+        }
+
+        return new Channel(title, description, link, language, ttl != null ? Integer.parseInt(ttl.trim()) : null);
+    }
+
+    private static RawItem readItem(XMLStreamReader reader) throws XMLStreamException {
+        String title = null;
+        String description = null;
+        String link = null;
+        String guid = null;
+        String pubDate = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "item".equals(reader.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            switch (reader.getLocalName()) {
+                case "title" -> title = text(reader);
+                case "description" -> description = text(reader);
+                case "link" -> link = text(reader);
+                case "guid" -> guid = text(reader);
+                case "pubDate" -> pubDate = text(reader);
+                default -> {
+                    // Other item elements are not used
+                }
+            }
+        }
+
+        return new RawItem(title, description, link, guid, pubDate);
+    }
+
+    /**
+     * Reads the text of the current element including any CDATA sections.
+     */
+    private static String text(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        text.append(reader.getText());
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                default -> {
+                    // Comments and processing instructions carry no text
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
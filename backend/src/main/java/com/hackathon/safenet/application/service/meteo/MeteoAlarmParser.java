@@ -1,90 +1,147 @@
 package com.hackathon.safenet.application.service.meteo;
 
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class MeteoAlarmParser {
-    public static String getTextContent(Element parent, String tagName) {
-        NodeList nodeList = parent.getElementsByTagName(tagName);
-        if (nodeList.getLength() > 0) {
-            Node node = nodeList.item(0);
-            return node.getTextContent();
-        }
-        return null;
-    }
 
-    public static Integer extractAwarenessLevel(String description) {
-        if (description == null) return null;
-        Pattern pattern = Pattern.compile("level:(\\d+)");
-        Matcher matcher = pattern.matcher(description);
-        if (matcher.find()) {
-            return Integer.parseInt(matcher.group(1));
+    /**
+     * Every token of interest in an item description, matched in a single scan:
+     * awareness level and type, the From/Until validity and the headers of the
+     * language blocks such as {@code english(en):}.
+     */
+    private static final Pattern DESCRIPTION_TOKENS = Pattern.compile(
+            "level:(?<level>\\d+)"
+                    + "|awt:(?<awt>\\d+)"
+                    + "|(?<bound>From|Until):\\s*</b>\\s*<i>(?<date>[^<]+)</i>"
+                    + "|\\w+\\((?<code>[^)]+)\\):");
+
+    private static final DateTimeFormatter RFC_822 = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("EEE, dd MMM yy HH:mm:ss ")
+            .appendOffset("+HHMM", "+0000")
+            .toFormatter(Locale.ENGLISH);
+
+    /**
+     * Fields extracted from an item description. Validity times are in UTC.
+     *
+     * @param descriptions language block text keyed by language code, e.g. {@code en} or {@code de-DE}
+     */
+    public record Description(Integer awarenessLevel, Integer awarenessType,
+                              LocalDateTime validFrom, LocalDateTime validUntil,
+                              Map<String, String> descriptions) {
+
+        static final Description EMPTY = new Description(null, null, null, null, Map.of());
+
+        /**
+         * @param language {@code english} or {@code german}
+         * @return the text of that language block, or {@code null} if the description has none
+         */
+        public String forLanguage(String language) {
+            return descriptions.get(language.equals("german") ? "de-DE" : "en");
         }
-        return null;
     }
 
-    public static Integer extractAwarenessType(String description) {
-        if (description == null) return null;
-        Pattern pattern = Pattern.compile("awt:(\\d+)");
-        Matcher matcher = pattern.matcher(description);
-        if (matcher.find()) {
-            return Integer.parseInt(matcher.group(1));
-        }
-        return null;
+    private record LanguageHeader(String code, int start, int end) {
     }
 
-    public static LocalDateTime extractDateTime(String description, String prefix) {
-        if (description == null) return null;
-        Pattern pattern = Pattern.compile(prefix + "\\s*</b>\\s*<i>([^<]+)</i>");
-        Matcher matcher = pattern.matcher(description);
-
-        if (matcher.find()) {
-            try {
-                String dateStr = matcher.group(1).trim();
-                return ZonedDateTime.parse(dateStr).toLocalDateTime();
-            } catch (Exception e) {
-                // Optionally log or handle parse error
+    /**
+     * Extracts all fields of a description in one pass. For every field the
+     * first occurrence wins. A language block runs from its header to the end
+     * of the line before the next line that starts with a language header.
+     */
+    public static Description parseDescription(String description) {
+        if (description == null) return Description.EMPTY;
+
+        Integer awarenessLevel = null;
+        Integer awarenessType = null;
+        LocalDateTime validFrom = null;
+        LocalDateTime validUntil = null;
+        List<LanguageHeader> headers = new ArrayList<>();
+
+        Matcher matcher = DESCRIPTION_TOKENS.matcher(description);
+        while (matcher.find()) {
+            if (matcher.start("level") >= 0) {
+                if (awarenessLevel == null) awarenessLevel = Integer.parseInt(matcher.group("level"));
+            } else if (matcher.start("awt") >= 0) {
+                if (awarenessType == null) awarenessType = Integer.parseInt(matcher.group("awt"));
+            } else if (matcher.start("bound") >= 0) {
+                if ("From".equals(matcher.group("bound"))) {
+                    if (validFrom == null) validFrom = parseDateTime(matcher.group("date"));
+                } else if (validUntil == null) {
+                    validUntil = parseDateTime(matcher.group("date"));
+                }
+            } else {
+                headers.add(new LanguageHeader(matcher.group("code"), matcher.start(), matcher.end()));
             }
         }
-        return null;
+
+        return new Description(awarenessLevel, awarenessType, validFrom, validUntil,
+                languageBlocks(description, headers));
     }
 
+    /**
+     * Parses an RFC 822 {@code pubDate} into UTC.
+     */
     public static LocalDateTime parsePubDate(String pubDateStr) {
         if (pubDateStr == null) return null;
         try {
-            DateTimeFormatter rfc822Formatter = new DateTimeFormatterBuilder()
-                    .parseCaseInsensitive()
-                    .appendPattern("EEE, dd MMM yy HH:mm:ss ")
-                    .appendOffset("+HHMM", "+0000")
-                    .toFormatter(Locale.ENGLISH);
+            return toUtc(ZonedDateTime.parse(pubDateStr.trim(), RFC_822));
+        } catch (Exception e) {
+            // Optionally log or handle parse error
+        }
+        return null;
+    }
 
-            return ZonedDateTime.parse(pubDateStr.trim(), rfc822Formatter).toLocalDateTime();
+    private static LocalDateTime parseDateTime(String dateStr) {
+        try {
+            return toUtc(ZonedDateTime.parse(dateStr.trim()));
         } catch (Exception e) {
             // Optionally log or handle parse error
         }
         return null;
     }
 
-    public static String extractLanguageSpecificDescription(String description, String language) {
-        if (description == null) return null;
+    /**
+     * The feed states times in the offset of each country; DWD and GDACS
+     * alerts are in UTC, so MeteoAlarm times are normalised to compare with them.
+     */
+    private static LocalDateTime toUtc(ZonedDateTime time) {
+        return time.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
 
-        String languageCode = language.equals("german") ? "de-DE" : "en";
-        Pattern pattern = Pattern.compile(languageCode + "\\):\\s*([^\\n]+(?:\\n(?!\\w+\\([^)]+\\):)[^\\n]*)*)");
-        Matcher matcher = pattern.matcher(description);
+    private static Map<String, String> languageBlocks(String description, List<LanguageHeader> headers) {
+        Map<String, String> blocks = new HashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            LanguageHeader header = headers.get(i);
+            if (blocks.containsKey(header.code())) {
+                continue;
+            }
 
-        if (matcher.find()) {
-            return matcher.group(1).trim();
-        }
+            int end = description.length();
+            for (int j = i + 1; j < headers.size(); j++) {
+                int next = headers.get(j).start();
+                if (next > header.end() && description.charAt(next - 1) == '\n') {
+                    end = next - 1;
+                    break;
+                }
+            }
 
-        return null;
+            String block = description.substring(header.end(), end).trim();
+            if (!block.isEmpty()) {
+                blocks.put(header.code(), block);
+            }
+        }
+        return blocks;
     }
-}
\ No newline at end of file
+}
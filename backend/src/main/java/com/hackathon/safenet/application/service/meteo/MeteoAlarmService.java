@@ -1,99 +1,213 @@
 package com.hackathon.safenet.application.service.meteo;
 
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmDelta;
 import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
 import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmResponse;
 import com.hackathon.safenet.domain.ports.inbound.MeteoAlarmPort;
-import com.hackathon.safenet.domain.ports.outbound.MeteoAlarmFeedPort;
-import lombok.RequiredArgsConstructor;
+import com.hackathon.safenet.domain.ports.outbound.FeedPort;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import java.io.ByteArrayInputStream;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
-
+/**
+ * Serves MeteoAlarm warnings from in-memory snapshots, one per country.
+ *
+ * <p>{@link #refresh(String)} streams and parses the feed of a country once and
+ * replaces its snapshot of every supported language. It is driven by the alert
+ * ingestion scheduler; requests never trigger outbound I/O unless no snapshot
+ * has been loaded yet. A failed refresh keeps the last good snapshot. The
+ * {@code /api/weather} endpoints serve the first configured country.</p>
+ *
+ * <p>Only deltas are handed downstream: after each poll that changed the feed a
+ * {@link MeteoAlarmDelta} per language is published as an application event.</p>
+ */
 @Slf4j
-@Service
-@RequiredArgsConstructor
 public class MeteoAlarmService implements MeteoAlarmPort {
 
-    private final MeteoAlarmFeedPort meteoAlarmFeedPort;
+    static final List<String> LANGUAGES = List.of("english", "german");
+    private static final String UPSTREAM = "meteoalarm";
+
+    private final FeedPort feedPort;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String feedUrl;
+    private final String defaultCountry;
+
+    // Language snapshots keyed by country
+    private final Map<String, Map<String, MeteoAlarmResponse>> snapshots = new ConcurrentHashMap<>();
+    // Not monitors: a refresh blocks on HTTP, which would pin a virtual thread's carrier
+    private final Map<String, ReentrantLock> refreshLocks = new ConcurrentHashMap<>();
+
+    /**
+     * @param feedUrl        feed URL in which {@code {country}} is replaced by the country
+     * @param defaultCountry the country served by {@code /api/weather}
+     */
+    public MeteoAlarmService(FeedPort feedPort,
+                             ApplicationEventPublisher eventPublisher,
+                             String feedUrl,
+                             String defaultCountry) {
+        this.feedPort = feedPort;
+        this.eventPublisher = eventPublisher;
+        this.feedUrl = feedUrl;
+        this.defaultCountry = defaultCountry;
+    }
 
     public MeteoAlarmResponse getMeteoAlarmData(String language) {
+        MeteoAlarmResponse snapshot = getSnapshot(defaultCountry, language);
+        if (snapshot == null) {
+            // Nothing polled yet, e.g. a request right after startup
+            refreshIfMissing(defaultCountry);
+            snapshot = getSnapshot(defaultCountry, language);
+        }
+        if (snapshot == null) {
+            throw new RuntimeException("No MeteoAlarm data available for language: " + language);
+        }
+        return snapshot;
+    }
+
+    public List<MeteoAlarmItem> getRegionAlerts(String language, String regionSlug) {
+        return getMeteoAlarmData(language).getItems().stream()
+                .filter(item -> regionSlug.equals(item.getRegionSlug()))
+                .toList();
+    }
+
+    /**
+     * @param country  a MeteoAlarm feed country, e.g. {@code germany}
+     * @param language "english" or "german"
+     * @return the current snapshot, or {@code null} if the country has not been polled yet
+     */
+    public MeteoAlarmResponse getSnapshot(String country, String language) {
+        Map<String, MeteoAlarmResponse> languages = snapshots.get(country);
+        return languages != null ? languages.get(language) : null;
+    }
+
+    /**
+     * Fetches and parses the feed of a country if it changed, replacing its
+     * snapshots and publishing a {@link MeteoAlarmDelta} per language that has changes.
+     *
+     * @param country a MeteoAlarm feed country, e.g. {@code germany}
+     * @return {@code true} if the snapshots were replaced, {@code false} if the feed was not modified
+     * @throws RuntimeException if the feed cannot be fetched or parsed; the previous snapshots are kept
+     */
+    public boolean refresh(String country) {
+        // Serializes refreshes of the same country, e.g. a poll and a request at startup
+        ReentrantLock lock = lockFor(country);
+        lock.lock();
+        try {
+            try {
+                log.debug("Refreshing MeteoAlarm data for {}", country);
+                URI feedUri = URI.create(feedUrl.replace("{country}", country));
+                Optional<Map<String, MeteoAlarmResponse>> parsed = feedPort.fetchFeed(UPSTREAM, feedUri, this::parseFeed);
+                if (parsed.isEmpty()) {
+                    if (!snapshots.containsKey(country)) {
+                        throw new RuntimeException("Feed not modified but no snapshot loaded");
+                    }
+                    return false;
+                }
+
+                Map<String, MeteoAlarmResponse> previous = snapshots.put(country, Map.copyOf(parsed.get()));
+                publishDeltas(previous != null ? previous : Map.of(), parsed.get());
+                log.info("Refreshed MeteoAlarm data for {}", country);
+                return true;
+            } catch (Exception e) {
+                log.error("Error fetching MeteoAlarm data for {}", country, e);
+                throw new RuntimeException("Failed to fetch MeteoAlarm data", e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publishDeltas(Map<String, MeteoAlarmResponse> previous, Map<String, MeteoAlarmResponse> current) {
+        for (String language : LANGUAGES) {
+            MeteoAlarmResponse before = previous.get(language);
+            MeteoAlarmDelta delta = MeteoAlarmDiffer.diff(language,
+                    before != null ? before.getItems() : List.of(),
+                    current.get(language).getItems());
+            if (!delta.isEmpty()) {
+                log.info("MeteoAlarm {} alerts: {} new, {} changed, {} expired", language,
+                        delta.added().size(), delta.changed().size(), delta.expired().size());
+                eventPublisher.publishEvent(delta);
+            }
+        }
+    }
+
+    private void refreshIfMissing(String country) {
+        ReentrantLock lock = lockFor(country);
+        lock.lock();
         try {
-            log.info("Fetching MeteoAlarm data for language: {}", language);
-            // Fetch RSS feed
-            String rssContent = meteoAlarmFeedPort.fetchFeedContent();
-            if (rssContent == null) {
-                throw new RuntimeException("Failed to fetch RSS content");
+            if (!snapshots.containsKey(country)) {
+                refresh(country);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String country) {
+        return refreshLocks.computeIfAbsent(country, key -> new ReentrantLock());
+    }
+
+    private Map<String, MeteoAlarmResponse> parseFeed(InputStream feed) throws IOException {
+        Map<String, List<MeteoAlarmItem>> itemsByLanguage = new HashMap<>();
+        LANGUAGES.forEach(language -> itemsByLanguage.put(language, new ArrayList<>()));
+
+        // The first item is not a regional warning and is skipped
+        int[] index = {0};
+        MeteoAlarmFeedReader.Channel channel = MeteoAlarmFeedReader.read(feed, rawItem -> {
+            if (index[0]++ == 0) {
+                return;
             }
-            // Parse XML
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(new ByteArrayInputStream(rssContent.getBytes()));
-            // Extract channel information
-            Element channel = (Element) document.getElementsByTagName("channel").item(0);
-            String title = MeteoAlarmParser.getTextContent(channel, "title");
-            String description = MeteoAlarmParser.getTextContent(channel, "description");
-            String link = MeteoAlarmParser.getTextContent(channel, "link");
-            String channelLanguage = MeteoAlarmParser.getTextContent(channel, "language");
-            String ttlStr = MeteoAlarmParser.getTextContent(channel, "ttl");
-            Integer ttl = ttlStr != null ? Integer.parseInt(ttlStr) : null;
-            // Extract items
-            NodeList itemNodes = document.getElementsByTagName("item");
-            List<MeteoAlarmItem> items = new ArrayList<>();
-            for (int i = 1; i < itemNodes.getLength(); i++) {
-                Element itemElement = (Element) itemNodes.item(i);
-                MeteoAlarmItem item = parseItem(itemElement, language);
+            MeteoAlarmParser.Description description = MeteoAlarmParser.parseDescription(rawItem.description());
+            for (String language : LANGUAGES) {
+                MeteoAlarmItem item = parseItem(rawItem, description, language);
                 if (item != null) {
-                    items.add(item);
+                    itemsByLanguage.get(language).add(item);
                 }
             }
-            return MeteoAlarmResponse.builder()
-                    .title(title)
-                    .description(description)
-                    .link(link)
-                    .language(channelLanguage)
-                    .ttl(ttl)
-                    .items(items)
-                    .build();
-        } catch (Exception e) {
-            log.error("Error fetching MeteoAlarm data", e);
-            throw new RuntimeException("Failed to fetch MeteoAlarm data", e);
+        });
+
+        Map<String, MeteoAlarmResponse> responses = new HashMap<>();
+        for (String language : LANGUAGES) {
+            responses.put(language, MeteoAlarmResponse.builder()
+                    .title(channel.title())
+                    .description(channel.description())
+                    .link(channel.link())
+                    .language(channel.language())
+                    .ttl(channel.ttl())
+                    .items(List.copyOf(itemsByLanguage.get(language)))
+                    .build());
         }
+        return responses;
     }
 
-    private MeteoAlarmItem parseItem(Element itemElement, String requestedLanguage) {
+    private MeteoAlarmItem parseItem(MeteoAlarmFeedReader.RawItem rawItem,
+                                     MeteoAlarmParser.Description description, String requestedLanguage) {
         try {
-            String title = MeteoAlarmParser.getTextContent(itemElement, "title");
-            String description = MeteoAlarmParser.getTextContent(itemElement, "description");
-            String link = MeteoAlarmParser.getTextContent(itemElement, "link");
-            String guid = MeteoAlarmParser.getTextContent(itemElement, "guid");
-            String pubDateStr = MeteoAlarmParser.getTextContent(itemElement, "pubDate");
-            LocalDateTime pubDate = MeteoAlarmParser.parsePubDate(pubDateStr);
-            Integer awarenessLevel = MeteoAlarmParser.extractAwarenessLevel(description);
-            Integer awarenessType = MeteoAlarmParser.extractAwarenessType(description);
-            LocalDateTime validFrom = MeteoAlarmParser.extractDateTime(description, "From:");
-            LocalDateTime validUntil = MeteoAlarmParser.extractDateTime(description, "Until:");
-            String languageSpecificDescription = MeteoAlarmParser.extractLanguageSpecificDescription(description, requestedLanguage);
+            String title = rawItem.title();
+            LocalDateTime pubDate = MeteoAlarmParser.parsePubDate(rawItem.pubDate());
+            String languageSpecificDescription = description.forLanguage(requestedLanguage);
             return MeteoAlarmItem.builder()
                     .title(title)
-                    .description(languageSpecificDescription != null ? languageSpecificDescription : description)
-                    .link(link)
-                    .guid(guid)
+                    .description(languageSpecificDescription != null ? languageSpecificDescription : rawItem.description())
+                    .link(rawItem.link())
+                    .guid(rawItem.guid())
                     .pubDate(pubDate)
                     .region(title)
-                    .awarenessLevel(awarenessLevel)
-                    .awarenessType(awarenessType)
-                    .validFrom(validFrom)
-                    .validUntil(validUntil)
+                    .awarenessLevel(description.awarenessLevel())
+                    .awarenessType(description.awarenessType())
+                    .validFrom(description.validFrom())
+                    .validUntil(description.validUntil())
                     .language(requestedLanguage)
                     .build();
         } catch (Exception e) {
@@ -101,4 +215,4 @@ public class MeteoAlarmService implements MeteoAlarmPort {
             return null;
         }
     }
-}
\ No newline at end of file
+}
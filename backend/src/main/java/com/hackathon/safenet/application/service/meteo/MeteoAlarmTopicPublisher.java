@@ -0,0 +1,68 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmDelta;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadcasts MeteoAlarm deltas to {@code /topic/alerts/{region}}.
+ *
+ * <p>Each background poll that changed the feed results in at most one
+ * {@link NotificationType#WEATHER_ALERT_UPDATE} per affected region and
+ * language, so the upstream feed is fetched once no matter how many clients
+ * are subscribed. Clients get the current state of a region by subscribing to
+ * {@code /app/alerts/{region}} once and apply the updates from the topic.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MeteoAlarmTopicPublisher {
+
+    static final String TOPIC_PREFIX = "alerts/";
+
+    private final NotificationPort notificationPort;
+
+    @EventListener
+    public void onDelta(MeteoAlarmDelta delta) {
+        Map<String, RegionDelta> byRegion = new LinkedHashMap<>();
+        delta.added().forEach(item -> regionDelta(byRegion, item).added().add(item));
+        delta.changed().forEach(item -> regionDelta(byRegion, item).changed().add(item));
+        delta.expired().forEach(item -> regionDelta(byRegion, item).expired().add(item));
+
+        byRegion.forEach((region, changes) -> {
+            try {
+                notificationPort.sendToTopic(TOPIC_PREFIX + region, NotificationMessage.create(
+                        NotificationType.WEATHER_ALERT_UPDATE, null, null, Map.of(
+                                "language", delta.language(),
+                                "region", region,
+                                "added", changes.added(),
+                                "changed", changes.changed(),
+                                "expired", changes.expired())));
+            } catch (Exception e) {
+                log.error("Failed to publish weather alerts for region {}: {}", region, e.getMessage());
+            }
+        });
+        log.debug("Published {} weather alert updates for {} regions", delta.language(), byRegion.size());
+    }
+
+    private static RegionDelta regionDelta(Map<String, RegionDelta> byRegion, MeteoAlarmItem item) {
+        String region = item.getRegionSlug();
+        return byRegion.computeIfAbsent(region != null && !region.isEmpty() ? region : "unknown",
+                key -> new RegionDelta(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+    }
+
+    private record RegionDelta(List<MeteoAlarmItem> added, List<MeteoAlarmItem> changed,
+                               List<MeteoAlarmItem> expired) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.hackathon.safenet.application.util.geo;
+
+/**
+ * Axis-aligned bounding box in degrees, x = longitude, y = latitude.
+ */
+public record Envelope(double minX, double minY, double maxX, double maxY) {
+
+    public static Envelope ofPoint(double x, double y) {
+        return new Envelope(x, y, x, y);
+    }
+
+    /**
+     * Parses {@code minLon,minLat,maxLon,maxLat}.
+     *
+     * @throws IllegalArgumentException if the value is not four numbers or min exceeds max
+     */
+    public static Envelope parse(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+        try {
+            Envelope envelope = new Envelope(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+            if (envelope.minX > envelope.maxX || envelope.minY > envelope.maxY) {
+                throw new IllegalArgumentException("bbox min must not exceed max");
+            }
+            return envelope;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must be minLon,minLat,maxLon,maxLat");
+        }
+    }
+
+    public boolean contains(double x, double y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    public boolean intersects(Envelope other) {
+        return other.minX <= maxX && other.maxX >= minX && other.minY <= maxY && other.maxY >= minY;
+    }
+
+    public Envelope union(Envelope other) {
+        return new Envelope(Math.min(minX, other.minX), Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+    }
+
+    double centerX() {
+        return (minX + maxX) / 2;
+    }
+
+    double centerY() {
+        return (minY + maxY) / 2;
+    }
+}
@@ -0,0 +1,73 @@
+package com.hackathon.safenet.application.util.geo;
+
+import java.util.List;
+
+/**
+ * (Multi)polygon in degrees, x = longitude, y = latitude.
+ *
+ * <p>Each polygon is a list of rings; the first ring is the outline, further
+ * rings are holes. A ring is a flat array {@code x0, y0, x1, y1, ...}; closing
+ * the ring by repeating the first point is optional.</p>
+ */
+public final class GeoShape {
+
+    private final List<List<double[]>> polygons;
+    private final Envelope envelope;
+
+    public GeoShape(List<List<double[]>> polygons) {
+        if (polygons.isEmpty() || polygons.stream().anyMatch(List::isEmpty)) {
+            throw new IllegalArgumentException("A shape needs at least one polygon with an outline");
+        }
+        this.polygons = polygons;
+
+        Envelope bounds = null;
+        for (List<double[]> polygon : polygons) {
+            double[] outline = polygon.getFirst();
+            for (int i = 0; i + 1 < outline.length; i += 2) {
+                Envelope point = Envelope.ofPoint(outline[i], outline[i + 1]);
+                bounds = bounds == null ? point : bounds.union(point);
+            }
+        }
+        this.envelope = bounds;
+    }
+
+    public Envelope getEnvelope() {
+        return envelope;
+    }
+
+    /**
+     * Even-odd point-in-polygon test.
+     */
+    public boolean contains(double x, double y) {
+        if (!envelope.contains(x, y)) {
+            return false;
+        }
+        for (List<double[]> polygon : polygons) {
+            if (ringContains(polygon.getFirst(), x, y)) {
+                boolean inHole = false;
+                for (int i = 1; i < polygon.size() && !inHole; i++) {
+                    inHole = ringContains(polygon.get(i), x, y);
+                }
+                if (!inHole) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean ringContains(double[] ring, double x, double y) {
+        boolean inside = false;
+        int n = ring.length / 2;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double xi = ring[2 * i];
+            double yi = ring[2 * i + 1];
+            double xj = ring[2 * j];
+            double yj = ring[2 * j + 1];
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+}
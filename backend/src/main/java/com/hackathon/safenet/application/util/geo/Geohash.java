@@ -0,0 +1,157 @@
+package com.hackathon.safenet.application.util.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Geohash cells of a fixed precision.
+ *
+ * <p>A geohash of {@code p} characters interleaves {@code 5p} bits, starting
+ * with longitude, so the world is split into a regular grid of
+ * 2<sup>ceil(5p/2)</sup> columns by 2<sup>floor(5p/2)</sup> rows. Cells are
+ * addressed here by column and row, which makes enumerating the cells of a
+ * bounding box a pair of loops instead of a neighbour walk.</p>
+ *
+ * <table>
+ *   <caption>Approximate cell size</caption>
+ *   <tr><th>Precision</th><th>Width x height</th></tr>
+ *   <tr><td>4</td><td>39 km x 20 km</td></tr>
+ *   <tr><td>5</td><td>4.9 km x 4.9 km</td></tr>
+ *   <tr><td>6</td><td>1.2 km x 0.6 km</td></tr>
+ *   <tr><td>7</td><td>153 m x 153 m</td></tr>
+ * </table>
+ */
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    /**
+     * @param precision number of characters, 1 to {@value #MAX_PRECISION}
+     * @return the cell containing the point
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        checkPrecision(precision);
+        return toHash(column(longitude, precision), row(latitude, precision), precision);
+    }
+
+    /**
+     * @return the bounds of a cell
+     * @throws IllegalArgumentException if the value is not a geohash
+     */
+    public static Envelope bounds(String geohash) {
+        int precision = geohash.length();
+        checkPrecision(precision);
+
+        long column = 0;
+        long row = 0;
+        int bit = 0;
+        for (int i = 0; i < precision; i++) {
+            int value = indexOf(geohash.charAt(i));
+            for (int shift = 4; shift >= 0; shift--, bit++) {
+                long b = (value >> shift) & 1;
+                if (bit % 2 == 0) {
+                    column = (column << 1) | b;
+                } else {
+                    row = (row << 1) | b;
+                }
+            }
+        }
+
+        double width = 360.0 / columns(precision);
+        double height = 180.0 / rows(precision);
+        double minX = -180.0 + column * width;
+        double minY = -90.0 + row * height;
+        return new Envelope(minX, minY, minX + width, minY + height);
+    }
+
+    /**
+     * Lists the cells that intersect a bounding box, row by row.
+     *
+     * @param bounds    x = longitude, y = latitude; must not cross the antimeridian
+     * @param precision cell precision
+     * @param maxCells  upper bound on the result size
+     * @return the cells, or empty if more than {@code maxCells} would be needed
+     */
+    public static Optional<List<String>> cover(Envelope bounds, int precision, int maxCells) {
+        checkPrecision(precision);
+        long minColumn = column(bounds.minX(), precision);
+        long maxColumn = column(bounds.maxX(), precision);
+        long minRow = row(bounds.minY(), precision);
+        long maxRow = row(bounds.maxY(), precision);
+
+        long count = (maxColumn - minColumn + 1) * (maxRow - minRow + 1);
+        if (count > maxCells) {
+            return Optional.empty();
+        }
+
+        List<String> cells = new ArrayList<>((int) count);
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long column = minColumn; column <= maxColumn; column++) {
+                cells.add(toHash(column, row, precision));
+            }
+        }
+        return Optional.of(cells);
+    }
+
+    private static long column(double longitude, int precision) {
+        return index((longitude + 180.0) / 360.0, columns(precision));
+    }
+
+    private static long row(double latitude, int precision) {
+        return index((latitude + 90.0) / 180.0, rows(precision));
+    }
+
+    // Clamped so that 180 and 90 fall into the last column and row
+    private static long index(double fraction, long cells) {
+        long index = (long) Math.floor(fraction * cells);
+        return Math.max(0, Math.min(cells - 1, index));
+    }
+
+    private static long columns(int precision) {
+        return 1L << ((5 * precision + 1) / 2);
+    }
+
+    private static long rows(int precision) {
+        return 1L << (5 * precision / 2);
+    }
+
+    private static String toHash(long column, long row, int precision) {
+        int columnBits = (5 * precision + 1) / 2;
+        int rowBits = 5 * precision / 2;
+
+        char[] hash = new char[precision];
+        int bit = 0;
+        for (int i = 0; i < precision; i++) {
+            int value = 0;
+            for (int j = 0; j < 5; j++, bit++) {
+                long b = bit % 2 == 0
+                        ? (column >> (--columnBits)) & 1
+                        : (row >> (--rowBits)) & 1;
+                value = (value << 1) | (int) b;
+            }
+            hash[i] = BASE32[value];
+        }
+        return new String(hash);
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < BASE32.length; i++) {
+            if (BASE32[i] == c) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a geohash character: " + c);
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+    }
+}
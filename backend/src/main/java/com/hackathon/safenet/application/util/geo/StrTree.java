@@ -0,0 +1,120 @@
+package com.hackathon.safenet.application.util.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Immutable R-tree bulk-loaded with the Sort-Tile-Recursive algorithm.
+ *
+ * <p>Items are packed into full nodes of up to {@value #NODE_CAPACITY}
+ * entries, grouped by position, so a query only descends into the few nodes
+ * whose bounds intersect the search area. Build once, query from any thread.</p>
+ *
+ * @param <T> the indexed item type
+ */
+public final class StrTree<T> {
+
+    private static final int NODE_CAPACITY = 16;
+
+    /**
+     * An item with its bounds.
+     */
+    public record Entry<T>(Envelope envelope, T item) {
+    }
+
+    private record Node(Envelope envelope, List<Node> children, List<? extends Entry<?>> entries) {
+    }
+
+    private final Node root;
+    private final int size;
+
+    public StrTree(List<Entry<T>> entries) {
+        this.size = entries.size();
+        this.root = entries.isEmpty() ? null : build(entries);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits every item whose bounds intersect the area.
+     */
+    public void query(Envelope area, Consumer<? super T> visitor) {
+        if (root != null && root.envelope().intersects(area)) {
+            query(root, area, visitor);
+        }
+    }
+
+    /**
+     * Visits every item whose bounds contain the point.
+     */
+    public void query(double x, double y, Consumer<? super T> visitor) {
+        query(Envelope.ofPoint(x, y), visitor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void query(Node node, Envelope area, Consumer<? super T> visitor) {
+        if (node.entries() != null) {
+            for (Entry<?> entry : node.entries()) {
+                if (entry.envelope().intersects(area)) {
+                    visitor.accept((T) entry.item());
+                }
+            }
+            return;
+        }
+        for (Node child : node.children()) {
+            if (child.envelope().intersects(area)) {
+                query(child, area, visitor);
+            }
+        }
+    }
+
+    private static <T> Node build(List<Entry<T>> entries) {
+        List<Node> level = new ArrayList<>();
+        for (List<Entry<T>> group : tile(entries, Entry::envelope)) {
+            level.add(new Node(bounds(group, Entry::envelope), null, List.copyOf(group)));
+        }
+        while (level.size() > 1) {
+            List<Node> parents = new ArrayList<>();
+            for (List<Node> group : tile(level, Node::envelope)) {
+                parents.add(new Node(bounds(group, Node::envelope), List.copyOf(group), null));
+            }
+            level = parents;
+        }
+        return level.getFirst();
+    }
+
+    /**
+     * Sorts by x, cuts into vertical slices, sorts each slice by y and cuts it into nodes.
+     */
+    private static <E> List<List<E>> tile(List<E> items, Function<E, Envelope> envelope) {
+        int nodeCount = (items.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceCount = (int) Math.ceil(Math.sqrt(nodeCount));
+        int sliceSize = sliceCount * NODE_CAPACITY;
+
+        List<E> byX = new ArrayList<>(items);
+        byX.sort(Comparator.comparingDouble(item -> envelope.apply(item).centerX()));
+
+        List<List<E>> groups = new ArrayList<>(nodeCount);
+        for (int sliceStart = 0; sliceStart < byX.size(); sliceStart += sliceSize) {
+            List<E> slice = new ArrayList<>(byX.subList(sliceStart, Math.min(sliceStart + sliceSize, byX.size())));
+            slice.sort(Comparator.comparingDouble(item -> envelope.apply(item).centerY()));
+            for (int start = 0; start < slice.size(); start += NODE_CAPACITY) {
+                groups.add(slice.subList(start, Math.min(start + NODE_CAPACITY, slice.size())));
+            }
+        }
+        return groups;
+    }
+
+    private static <E> Envelope bounds(List<E> items, Function<E, Envelope> envelope) {
+        Envelope bounds = envelope.apply(items.getFirst());
+        for (int i = 1; i < items.size(); i++) {
+            bounds = bounds.union(envelope.apply(items.get(i)));
+        }
+        return bounds;
+    }
+}
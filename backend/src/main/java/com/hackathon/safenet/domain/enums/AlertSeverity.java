@@ -0,0 +1,15 @@
+package com.hackathon.safenet.domain.enums;
+
+/**
+ * Severity of a warning, following the CAP severity levels.
+ *
+ * <ul>
+ *   <li><strong>MINOR:</strong> MeteoAlarm yellow, DWD level 1, GDACS green</li>
+ *   <li><strong>MODERATE:</strong> MeteoAlarm orange, DWD level 2</li>
+ *   <li><strong>SEVERE:</strong> MeteoAlarm red, DWD level 3, GDACS orange</li>
+ *   <li><strong>EXTREME:</strong> DWD level 4, GDACS red</li>
+ * </ul>
+ */
+public enum AlertSeverity {
+    MINOR, MODERATE, SEVERE, EXTREME
+}
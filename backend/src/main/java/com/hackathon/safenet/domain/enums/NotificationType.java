@@ -18,11 +18,21 @@ package com.hackathon.safenet.domain.enums;
  * <h3>Location and Safety Notifications</h3>
  * <ul>
  *   <li><strong>LOCATION_UPDATE:</strong> A friend's location was updated</li>
+ *   <li><strong>LOCATION_UPDATE_BATCH:</strong> The latest locations of several friends, conflated over one tick</li>
  *   <li><strong>LOCATION_SHARING_ENABLED:</strong> A friend enabled location sharing</li>
  *   <li><strong>LOCATION_SHARING_DISABLED:</strong> A friend disabled location sharing</li>
+ *   <li><strong>LOCATION_VIEWPORT_SNAPSHOT:</strong> Friend locations inside a newly registered map viewport</li>
  *   <li><strong>EMERGENCY_ALERT:</strong> Emergency situation detected</li>
  * </ul>
  * 
+ * <h3>Weather Alert Notifications</h3>
+ * <ul>
+ *   <li><strong>WEATHER_ALERT_SNAPSHOT:</strong> Current weather alerts of a region, sent on subscribe</li>
+ *   <li><strong>WEATHER_ALERT_UPDATE:</strong> Weather alerts of a region were issued, changed or expired</li>
+ *   <li><strong>WEATHER_ALERT_ENTERED:</strong> The user's position is now inside a warning area</li>
+ *   <li><strong>WEATHER_ALERT_EXITED:</strong> The user's position left a warning area or the warning ended</li>
+ * </ul>
+ * 
  * <h3>System and User Status Notifications</h3>
  * <ul>
  *   <li><strong>FRIENDSHIP_REMOVED:</strong> A friendship was removed</li>
@@ -44,10 +54,18 @@ public enum NotificationType {
     
     // Location and Safety Notifications
     LOCATION_UPDATE("notification.location.update"),
+    LOCATION_UPDATE_BATCH("notification.location.update_batch"),
     LOCATION_SHARING_ENABLED("notification.location.sharing_enabled"),
     LOCATION_SHARING_DISABLED("notification.location.sharing_disabled"),
+    LOCATION_VIEWPORT_SNAPSHOT("notification.location.viewport_snapshot"),
     EMERGENCY_ALERT("notification.emergency.alert"),
     
+    // Weather Alert Notifications
+    WEATHER_ALERT_SNAPSHOT("notification.weather.alert_snapshot"),
+    WEATHER_ALERT_UPDATE("notification.weather.alert_update"),
+    WEATHER_ALERT_ENTERED("notification.weather.alert_entered"),
+    WEATHER_ALERT_EXITED("notification.weather.alert_exited"),
+    
     // Friendship Notifications
     FRIENDSHIP_REMOVED("notification.friendship.removed"),
     
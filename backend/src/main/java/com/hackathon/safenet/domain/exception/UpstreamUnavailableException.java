@@ -0,0 +1,10 @@
+package com.hackathon.safenet.domain.exception;
+
+/**
+ * Exception for calls to an upstream service whose circuit breaker is open.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
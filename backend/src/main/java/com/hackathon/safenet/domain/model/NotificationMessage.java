@@ -35,7 +35,21 @@ public class NotificationMessage {
      * Notification priority levels.
      */
     public enum Priority {
-        LOW, NORMAL, HIGH, URGENT
+        LOW, NORMAL, HIGH, URGENT;
+
+        /**
+         * Default priority of a notification type.
+         * Emergencies are urgent, entering a warning area is high,
+         * frequent location updates are low.
+         */
+        public static Priority forType(NotificationType type) {
+            return switch (type) {
+                case EMERGENCY_ALERT -> URGENT;
+                case WEATHER_ALERT_ENTERED -> HIGH;
+                case LOCATION_UPDATE, LOCATION_UPDATE_BATCH -> LOW;
+                default -> NORMAL;
+            };
+        }
     }
 
     /**
@@ -76,16 +90,22 @@ public class NotificationMessage {
 
     /**
      * Static factory for simple notifications with optional data.
+     * The priority is the default of the notification type.
      */
     public static NotificationMessage create(
             NotificationType type,
             String senderId,
             String receiverId,
             Map<String, Object> data) {
+        Priority priority = Priority.forType(type);
+        if (priority == Priority.URGENT) {
+            return createUrgent(type, senderId, receiverId, data);
+        }
         return NotificationMessage.builder()
                 .type(type)
                 .senderId(senderId)
                 .receiverId(receiverId)
+                .priority(priority)
                 .data(data != null ? data : Map.of())
                 .build();
     }
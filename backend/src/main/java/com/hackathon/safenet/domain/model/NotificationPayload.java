@@ -1,10 +1,12 @@
 package com.hackathon.safenet.domain.model;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * WebSocket payload for notification delivery.
  * Separated from domain model for presentation concerns.
+ * {@code receiverId} is {@code null} when the same payload is fanned out to several users.
  */
 public record NotificationPayload(
         String type,
@@ -14,7 +16,8 @@ public record NotificationPayload(
         String priority,
         boolean persistent,
         boolean pushNotification,
-        long ttlSeconds
+        long ttlSeconds,
+        Map<String, Object> data
 ) {
 
     /**
@@ -29,7 +32,8 @@ public record NotificationPayload(
                 notification.getPriority().name(),
                 notification.getSettings().isPersistent(),
                 notification.getSettings().isPushNotification(),
-                notification.getSettings().getTtlSeconds()
+                notification.getSettings().getTtlSeconds(),
+                notification.getData()
         );
     }
 }
\ No newline at end of file
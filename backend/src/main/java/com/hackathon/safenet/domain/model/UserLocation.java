@@ -1,30 +1,34 @@
 package com.hackathon.safenet.domain.model;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
 /**
  * Immutable domain model representing a user's location with privacy controls.
+ *
+ * <p>Coordinates are plain doubles in degrees, which carry about 1e-15 degrees
+ * of precision, well below the 1e-8 degrees of the {@code NUMERIC(10,8)}
+ * database columns. Altitude and accuracy are optional and {@code null} when
+ * the device did not report them.</p>
  */
 public record UserLocation(
         UUID id,
         UUID userId,
-        BigDecimal latitude,
-        BigDecimal longitude,
-        BigDecimal altitude,
-        BigDecimal accuracy,
+        double latitude,
+        double longitude,
+        Double altitude,
+        Double accuracy,
         Boolean visibleToFriends,
         Instant createdAt,
         Instant updatedAt
 ) {
-    private static final BigDecimal MIN_LATITUDE = new BigDecimal("-90.0");
-    private static final BigDecimal MAX_LATITUDE = new BigDecimal("90.0");
-    private static final BigDecimal MIN_LONGITUDE = new BigDecimal("-180.0");
-    private static final BigDecimal MAX_LONGITUDE = new BigDecimal("180.0");
-    private static final BigDecimal MAX_ALTITUDE = new BigDecimal("100000.0");
-    private static final BigDecimal MIN_ALTITUDE = new BigDecimal("-1000.0");
-    private static final BigDecimal MAX_ACCURACY = new BigDecimal("10000.0");
+    private static final double MIN_LATITUDE = -90.0;
+    private static final double MAX_LATITUDE = 90.0;
+    private static final double MIN_LONGITUDE = -180.0;
+    private static final double MAX_LONGITUDE = 180.0;
+    private static final double MAX_ALTITUDE = 100000.0;
+    private static final double MIN_ALTITUDE = -1000.0;
+    private static final double MAX_ACCURACY = 10000.0;
     private static final int RECENT_THRESHOLD_SECONDS = 300; // 5 minutes
     private static final int STALE_THRESHOLD_SECONDS = 1800; // 30 minutes
     private static final double EARTH_RADIUS_METERS = 6371000.0;
@@ -37,15 +41,15 @@ public record UserLocation(
         validateVisibility(visibleToFriends);
     }
 
-    public static UserLocation create(UUID userId, BigDecimal latitude, BigDecimal longitude,
-                                      BigDecimal altitude, BigDecimal accuracy, Boolean visibleToFriends) {
+    public static UserLocation create(UUID userId, double latitude, double longitude,
+                                      Double altitude, Double accuracy, Boolean visibleToFriends) {
         Instant now = Instant.now();
         return new UserLocation(null, userId, latitude, longitude, altitude, accuracy,
                 visibleToFriends, now, now);
     }
 
-    public UserLocation updateCoordinates(BigDecimal newLatitude, BigDecimal newLongitude,
-                                          BigDecimal newAltitude, BigDecimal newAccuracy) {
+    public UserLocation updateCoordinates(double newLatitude, double newLongitude,
+                                          Double newAltitude, Double newAccuracy) {
         return new UserLocation(id, userId, newLatitude, newLongitude, newAltitude,
                 newAccuracy, visibleToFriends, createdAt, Instant.now());
     }
@@ -74,10 +78,10 @@ public record UserLocation(
             throw new IllegalArgumentException("Other location cannot be null");
         }
 
-        double lat1Rad = Math.toRadians(latitude.doubleValue());
-        double lon1Rad = Math.toRadians(longitude.doubleValue());
-        double lat2Rad = Math.toRadians(other.latitude.doubleValue());
-        double lon2Rad = Math.toRadians(other.longitude.doubleValue());
+        double lat1Rad = Math.toRadians(latitude);
+        double lon1Rad = Math.toRadians(longitude);
+        double lat2Rad = Math.toRadians(other.latitude);
+        double lon2Rad = Math.toRadians(other.longitude);
 
         double deltaLat = lat2Rad - lat1Rad;
         double deltaLon = lon2Rad - lon1Rad;
@@ -97,28 +101,24 @@ public record UserLocation(
         }
     }
 
-    private static void validateCoordinates(BigDecimal latitude, BigDecimal longitude) {
-        if (latitude == null || longitude == null) {
-            throw new IllegalArgumentException("Latitude and longitude cannot be null");
-        }
-        if (latitude.compareTo(MIN_LATITUDE) < 0 || latitude.compareTo(MAX_LATITUDE) > 0) {
+    private static void validateCoordinates(double latitude, double longitude) {
+        // Negated range checks so that NaN is rejected as well
+        if (!(latitude >= MIN_LATITUDE && latitude <= MAX_LATITUDE)) {
             throw new IllegalArgumentException("Latitude must be between -90 and 90 degrees");
         }
-        if (longitude.compareTo(MIN_LONGITUDE) < 0 || longitude.compareTo(MAX_LONGITUDE) > 0) {
+        if (!(longitude >= MIN_LONGITUDE && longitude <= MAX_LONGITUDE)) {
             throw new IllegalArgumentException("Longitude must be between -180 and 180 degrees");
         }
     }
 
-    private static void validateAltitude(BigDecimal altitude) {
-        if (altitude != null &&
-                (altitude.compareTo(MIN_ALTITUDE) < 0 || altitude.compareTo(MAX_ALTITUDE) > 0)) {
+    private static void validateAltitude(Double altitude) {
+        if (altitude != null && !(altitude >= MIN_ALTITUDE && altitude <= MAX_ALTITUDE)) {
             throw new IllegalArgumentException("Altitude must be between -1000 and 100000 meters");
         }
     }
 
-    private static void validateAccuracy(BigDecimal accuracy) {
-        if (accuracy != null &&
-                (accuracy.compareTo(BigDecimal.ZERO) < 0 || accuracy.compareTo(MAX_ACCURACY) > 0)) {
+    private static void validateAccuracy(Double accuracy) {
+        if (accuracy != null && !(accuracy >= 0.0 && accuracy <= MAX_ACCURACY)) {
             throw new IllegalArgumentException("Accuracy must be between 0 and 10000 meters");
         }
     }
@@ -0,0 +1,45 @@
+package com.hackathon.safenet.domain.model.alert;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.hackathon.safenet.domain.enums.AlertSeverity;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A warning from any feed source, normalized to one model.
+ * Times are in UTC.
+ */
+@Value
+@Builder
+public class Alert {
+
+    // Unique within the source, prefixed with the source id
+    String id;
+    String source;
+
+    String title;
+    String description;
+    String eventType;
+    AlertSeverity severity;
+
+    String country;
+    String region;
+    // Federal state or province containing the region, if the source reports it
+    String state;
+    String link;
+
+    // Only set by sources that locate their events, e.g. GDACS
+    Double latitude;
+    Double longitude;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime published;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime validFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime validUntil;
+}
@@ -0,0 +1,24 @@
+package com.hackathon.safenet.domain.model.meteoalarm;
+
+import java.util.List;
+
+/**
+ * Changes of the MeteoAlarm feed between two polls for one language.
+ * Published as an application event after every poll that changed anything.
+ *
+ * @param language the language of the items
+ * @param added    items whose guid was not in the previous poll
+ * @param changed  items whose guid was present but whose content differs
+ * @param expired  items of the previous poll that are no longer in the feed
+ */
+public record MeteoAlarmDelta(
+        String language,
+        List<MeteoAlarmItem> added,
+        List<MeteoAlarmItem> changed,
+        List<MeteoAlarmItem> expired
+) {
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && expired.isEmpty();
+    }
+}
@@ -6,7 +6,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.text.Normalizer;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 @Data
 @Builder
@@ -27,4 +29,22 @@ public class MeteoAlarmItem {
     private LocalDateTime validFrom;
     private LocalDateTime validUntil;
     private String language;
-}
\ No newline at end of file
+
+    /**
+     * URL-safe form of the region, used in the {@code /topic/alerts/{region}} destination.
+     * For example {@code Kreis Nordfriesland - Küste} becomes {@code kreis-nordfriesland-kuste}.
+     */
+    public String getRegionSlug() {
+        return slug(region);
+    }
+
+    public static String slug(String region) {
+        if (region == null) {
+            return null;
+        }
+        String ascii = Normalizer.normalize(region, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return ascii.toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("^-|-$", "");
+    }
+}
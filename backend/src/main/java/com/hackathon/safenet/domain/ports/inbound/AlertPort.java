@@ -0,0 +1,31 @@
+package com.hackathon.safenet.domain.ports.inbound;
+
+import com.hackathon.safenet.domain.model.alert.Alert;
+
+import java.util.List;
+
+public interface AlertPort {
+    /**
+     * Current warnings of all feed sources, deduplicated across sources.
+     *
+     * @return the merged warnings
+     */
+    List<Alert> getAlerts();
+
+    /**
+     * Warnings whose area contains a position.
+     *
+     * @param latitude  the latitude in degrees
+     * @param longitude the longitude in degrees
+     * @return the warnings affecting that position
+     */
+    List<Alert> findAlertsAt(double latitude, double longitude);
+
+    /**
+     * Warnings whose area intersects a bounding box, e.g. the visible map section.
+     *
+     * @return the warnings in that box
+     */
+    List<Alert> findAlertsWithin(double minLatitude, double minLongitude,
+                                 double maxLatitude, double maxLongitude);
+}
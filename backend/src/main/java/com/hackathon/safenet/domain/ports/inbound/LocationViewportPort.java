@@ -0,0 +1,60 @@
+package com.hackathon.safenet.domain.ports.inbound;
+
+import java.util.UUID;
+
+/**
+ * Port for streaming friend locations into a map viewport.
+ *
+ * <p>A user registers the bounding box of their map and then receives only
+ * the location updates of friends that fall into it, instead of polling
+ * all friend locations. Each WebSocket session has at most one viewport;
+ * registering a new one replaces the previous one. A user with another
+ * session that has no viewport, e.g. a phone next to an open web map,
+ * keeps receiving every friend location.</p>
+ *
+ * @author SafeNet Development Team
+ * @since 1.0.0
+ */
+public interface LocationViewportPort {
+
+    /**
+     * Register or move the viewport of a user and send the friend locations
+     * currently inside it.
+     *
+     * @param userId the viewing user
+     * @param sessionId the WebSocket session that owns the viewport
+     * @param minLatitude southern edge in degrees
+     * @param minLongitude western edge in degrees
+     * @param maxLatitude northern edge in degrees
+     * @param maxLongitude eastern edge in degrees
+     * @throws IllegalArgumentException if the bounds are out of range or min exceeds max
+     */
+    void subscribe(UUID userId, String sessionId,
+                   double minLatitude, double minLongitude,
+                   double maxLatitude, double maxLongitude);
+
+    /**
+     * Remove the viewport of a session if it belongs to the given user.
+     *
+     * @param userId the viewing user
+     * @param sessionId the WebSocket session that is clearing its viewport
+     */
+    void unsubscribe(UUID userId, String sessionId);
+
+    /**
+     * Record an open WebSocket session of a user, which receives every friend
+     * location until it registers a viewport.
+     *
+     * @param userId the connected user
+     * @param sessionId the new WebSocket session
+     */
+    void sessionOpened(UUID userId, String sessionId);
+
+    /**
+     * Forget a closed WebSocket session and its viewport.
+     *
+     * @param userId the disconnected user
+     * @param sessionId the closed WebSocket session
+     */
+    void sessionClosed(UUID userId, String sessionId);
+}
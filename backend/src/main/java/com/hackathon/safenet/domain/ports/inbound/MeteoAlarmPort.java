@@ -1,7 +1,10 @@
 package com.hackathon.safenet.domain.ports.inbound;
 
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
 import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmResponse;
 
+import java.util.List;
+
 public interface MeteoAlarmPort {
     /**
      * Fetch MeteoAlarm data for the specified language.
@@ -10,4 +13,13 @@ public interface MeteoAlarmPort {
      * @return MeteoAlarmResponse containing alarm data
      */
     MeteoAlarmResponse getMeteoAlarmData(String language);
-}
\ No newline at end of file
+
+    /**
+     * Current alerts of a single region.
+     *
+     * @param language   "english" or "german"
+     * @param regionSlug the region as returned by {@link MeteoAlarmItem#getRegionSlug()}
+     * @return the alerts of that region, empty if there are none
+     */
+    List<MeteoAlarmItem> getRegionAlerts(String language, String regionSlug);
+}
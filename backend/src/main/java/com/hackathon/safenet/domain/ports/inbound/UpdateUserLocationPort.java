@@ -2,7 +2,6 @@ package com.hackathon.safenet.domain.ports.inbound;
 
 import com.hackathon.safenet.domain.model.UserLocation;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
@@ -42,10 +41,10 @@ public interface UpdateUserLocationPort {
      * @throws RuntimeException if user is not found
      */
     UserLocation updateLocation(UUID userId,
-                                BigDecimal latitude,
-                                BigDecimal longitude,
-                                BigDecimal altitude,
-                                BigDecimal accuracy,
+                                double latitude,
+                                double longitude,
+                                Double altitude,
+                                Double accuracy,
                                 Boolean visibleToFriends);
     
     /**
@@ -0,0 +1,39 @@
+package com.hackathon.safenet.domain.ports.outbound;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Outbound port for fetching warning feeds such as MeteoAlarm, DWD or GDACS.
+ */
+public interface FeedPort {
+
+    /**
+     * Fetches a feed if it changed since the last successful read and hands
+     * the response body to the given reader while the connection is open, so the
+     * feed never has to be buffered as a whole.
+     *
+     * <p>Implementations send conditional requests (ETag / If-Modified-Since)
+     * and accept compressed responses. Validators are kept per URI and only
+     * remembered once the reader has returned successfully.</p>
+     *
+     * @param upstream short name of the upstream, e.g. {@code meteoalarm}
+     * @param uri      the feed URI
+     * @param reader   consumes the raw, decompressed feed stream
+     * @param <T> the result produced by the reader
+     * @return the reader's result, or empty if the feed has not been modified
+     */
+    <T> Optional<T> fetchFeed(String upstream, URI uri, FeedReader<T> reader);
+
+    /**
+     * Reads a feed from its response stream.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface FeedReader<T> {
+        T read(InputStream feed) throws IOException;
+    }
+}
@@ -0,0 +1,37 @@
+package com.hackathon.safenet.domain.ports.outbound;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port for read access to the friendship graph.
+ * Implementations may answer from memory; callers that modify friendships
+ * must invalidate the affected users.
+ */
+public interface FriendGraphPort {
+
+    /**
+     * Get the IDs of all friends of a user.
+     *
+     * @param userId the user ID
+     * @return friend IDs, empty if the user has no friends
+     */
+    List<UUID> getFriendIds(UUID userId);
+
+    /**
+     * Check if two users are friends.
+     *
+     * @param userId the user ID
+     * @param otherUserId the other user ID
+     * @return true if they are friends
+     */
+    boolean areFriends(UUID userId, UUID otherUserId);
+
+    /**
+     * Discard the cached friends of the given users once the current
+     * transaction has committed.
+     *
+     * @param userIds the users whose friendships changed
+     */
+    void invalidate(UUID... userIds);
+}
@@ -41,6 +41,14 @@ public interface FriendshipRepositoryPort {
      */
     List<User> findFriendsByUserId(UUID userId);
 
+    /**
+     * Find the IDs of all friends of a user without loading user data.
+     *
+     * @param userId the user ID
+     * @return list of friend IDs
+     */
+    List<UUID> findFriendIdsByUserId(UUID userId);
+
     /**
      * Find all friendships of a user.
      *
@@ -1,7 +1,11 @@
 package com.hackathon.safenet.domain.ports.outbound;
 
+import com.hackathon.safenet.domain.enums.NotificationType;
 import com.hackathon.safenet.domain.model.NotificationMessage;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Port for sending notifications.
  * Implementations handle the actual delivery mechanism.
@@ -15,6 +19,18 @@ public interface NotificationPort {
      */
     void send(NotificationMessage notification);
 
+    /**
+     * Send the same notification to several users.
+     * Implementations should build and serialize the payload only once.
+     *
+     * @param type the notification type
+     * @param senderId the sender identifier
+     * @param receiverIds the receiving user IDs
+     * @param data the notification data
+     */
+    void sendToMany(NotificationType type, String senderId,
+                    Collection<String> receiverIds, Map<String, Object> data);
+
     /**
      * Send a notification to all users in a topic/group.
      *
@@ -2,7 +2,6 @@ package com.hackathon.safenet.domain.ports.outbound;
 
 import com.hackathon.safenet.domain.model.UserLocation;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -38,8 +37,8 @@ public interface UserLocationRepositoryPort {
     /**
      * Find locations within a bounding box
      */
-    List<UserLocation> findWithinBounds(BigDecimal minLat, BigDecimal maxLat, 
-                                       BigDecimal minLon, BigDecimal maxLon);
+    List<UserLocation> findWithinBounds(double minLat, double maxLat,
+                                       double minLon, double maxLon);
 
     /**
      * Find recent locations (updated within specified time)
@@ -0,0 +1,225 @@
+package com.hackathon.safenet.infrastructure.adapters.cache;
+
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
+import com.hackathon.safenet.domain.ports.outbound.FriendshipRepositoryPort;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process cache of the friendship graph.
+ *
+ * <p>Each user's friends are kept as one sorted {@code long[]} of interleaved
+ * most/least significant UUID bits, i.e. 16 bytes per friend and a single
+ * object per user. Friendship checks are a binary search over that array.</p>
+ *
+ * <h3>Consistency</h3>
+ * <ul>
+ *   <li>Entries are invalidated after the transaction that changed a friendship commits</li>
+ *   <li>Every invalidation bumps a generation counter; a load that raced with an
+ *       invalidation is returned to its caller but not cached</li>
+ *   <li>Entries expire after {@code safenet.friends.cache.ttl}, which bounds how long
+ *       a change made on another instance goes unnoticed</li>
+ *   <li>The cache holds at most {@code safenet.friends.cache.max-entries} users; when
+ *       it grows beyond that, expired entries and then the least recently used ones
+ *       are dropped until it is back to nine tenths of the limit</li>
+ * </ul>
+ *
+ * <p>Reads take no lock; a hit only stamps its entry's access time. Inserts and
+ * invalidations of one user are serialized by the map's per-key {@code compute}.</p>
+ */
+@Slf4j
+@Component
+public class FriendGraphCacheAdapter implements FriendGraphPort {
+
+    private static final long[] NO_FRIENDS = new long[0];
+
+    private static final class Entry {
+        final long[] friends;
+        final long expiresAt;
+        volatile long lastAccess;
+
+        Entry(long[] friends, long expiresAt, long now) {
+            this.friends = friends;
+            this.expiresAt = expiresAt;
+            this.lastAccess = now;
+        }
+    }
+
+    private final FriendshipRepositoryPort friendshipRepository;
+    private final Map<UUID, Entry> friends = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public FriendGraphCacheAdapter(FriendshipRepositoryPort friendshipRepository,
+                                   ApplicationProperties applicationProperties,
+                                   MeterRegistry meterRegistry) {
+        this.friendshipRepository = friendshipRepository;
+
+        this.ttlNanos = applicationProperties.getFriends().getCache().getTtl().toNanos();
+        this.maxEntries = applicationProperties.getFriends().getCache().getMaxEntries();
+
+        Gauge.builder("safenet.friends.cache.size", friends, Map::size)
+                .description("Users with cached friend IDs")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("safenet.friends.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("safenet.friends.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<UUID> getFriendIds(UUID userId) {
+        long[] packed = lookup(userId);
+        List<UUID> ids = new ArrayList<>(packed.length / 2);
+        for (int i = 0; i < packed.length; i += 2) {
+            ids.add(new UUID(packed[i], packed[i + 1]));
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean areFriends(UUID userId, UUID otherUserId) {
+        return indexOf(lookup(userId), otherUserId.getMostSignificantBits(),
+                otherUserId.getLeastSignificantBits()) >= 0;
+    }
+
+    @Override
+    public void invalidate(UUID... userIds) {
+        List<UUID> affected = List.of(userIds);
+        evict(affected);
+
+        // A reader inside the writing transaction's lifetime may still load the old state
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(affected);
+                }
+            });
+        }
+    }
+
+    private long[] lookup(UUID userId) {
+        Entry cached = friends.get(userId);
+        long now = System.nanoTime();
+        if (cached != null && !isExpired(cached, now)) {
+            cached.lastAccess = now;
+            hitCounter.increment();
+            return cached.friends;
+        }
+
+        missCounter.increment();
+        long loadedAt = generation.get();
+        long[] loaded = load(userId);
+
+        // Invalidations bump the generation inside the same per-key compute
+        friends.compute(userId, (id, current) -> {
+            long loadedNow = System.nanoTime();
+            return generation.get() == loadedAt ? new Entry(loaded, loadedNow + ttlNanos, loadedNow) : current;
+        });
+        if (friends.size() > maxEntries) {
+            trim();
+        }
+        return loaded;
+    }
+
+    private long[] load(UUID userId) {
+        List<UUID> ids = friendshipRepository.findFriendIdsByUserId(userId);
+        if (ids.isEmpty()) {
+            return NO_FRIENDS;
+        }
+
+        UUID[] sorted = ids.toArray(UUID[]::new);
+        Arrays.sort(sorted, FriendGraphCacheAdapter::compare);
+
+        long[] packed = new long[sorted.length * 2];
+        for (int i = 0; i < sorted.length; i++) {
+            packed[2 * i] = sorted[i].getMostSignificantBits();
+            packed[2 * i + 1] = sorted[i].getLeastSignificantBits();
+        }
+        log.debug("Cached {} friend IDs for user {}", sorted.length, userId);
+        return packed;
+    }
+
+    private void evict(Collection<UUID> userIds) {
+        userIds.forEach(userId -> friends.compute(userId, (id, current) -> {
+            generation.incrementAndGet();
+            return null;
+        }));
+    }
+
+    /**
+     * Drops expired entries, then the least recently used ones, until the cache
+     * is at nine tenths of its limit, so that a full cache is not trimmed on
+     * every miss. Concurrent misses may trim at the same time; an entry that
+     * was replaced meanwhile is kept.
+     */
+    private void trim() {
+        int target = maxEntries - maxEntries / 10;
+        long now = System.nanoTime();
+        friends.values().removeIf(entry -> isExpired(entry, now));
+
+        int excess = friends.size() - target;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<UUID, Entry>> byAccess = new ArrayList<>(friends.entrySet());
+        byAccess.sort(Comparator.comparingLong(cached -> cached.getValue().lastAccess));
+        for (int i = 0; i < excess && i < byAccess.size(); i++) {
+            friends.remove(byAccess.get(i).getKey(), byAccess.get(i).getValue());
+        }
+    }
+
+    private static boolean isExpired(Entry entry, long now) {
+        return now - entry.expiresAt >= 0;
+    }
+
+    private static int indexOf(long[] packed, long msb, long lsb) {
+        int low = 0;
+        int high = packed.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(packed[2 * mid], packed[2 * mid + 1], msb, lsb);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(UUID a, UUID b) {
+        return compare(a.getMostSignificantBits(), a.getLeastSignificantBits(),
+                b.getMostSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static int compare(long msbA, long lsbA, long msbB, long lsbB) {
+        int cmp = Long.compare(msbA, msbB);
+        return cmp != 0 ? cmp : Long.compare(lsbA, lsbB);
+    }
+}
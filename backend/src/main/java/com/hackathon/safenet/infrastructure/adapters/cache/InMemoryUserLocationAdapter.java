@@ -0,0 +1,256 @@
+package com.hackathon.safenet.infrastructure.adapters.cache;
+
+import com.hackathon.safenet.application.util.geo.Envelope;
+import com.hackathon.safenet.application.util.geo.Geohash;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
+import com.hackathon.safenet.infrastructure.adapters.supabase.persistence.UserLocationJpaAdapter;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Location;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory latest-location store in front of the JPA adapter.
+ *
+ * <p>Every user has exactly one current location, so the whole working set is a
+ * map of user ID to the newest {@link UserLocation}. Once the store has been
+ * warmed from the database on startup, all reads are answered from memory and
+ * never touch the connection pool.</p>
+ *
+ * <p>Writes are handed to the JPA adapter, whose write-behind buffer coalesces
+ * and batches them, and the map keeps whichever location is newest. Deletes are
+ * passed through to the database synchronously.</p>
+ *
+ * <p>A second map groups users by the geohash cell of their latest location,
+ * so bounding-box queries only visit the users in the covering cells, and a
+ * third maps location IDs to user IDs for {@link #findById}. Both are
+ * maintained inside the per-user update of the location map.</p>
+ */
+@Slf4j
+@Primary
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "safenet.location.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class InMemoryUserLocationAdapter implements UserLocationRepositoryPort {
+
+    private final UserLocationJpaAdapter delegate;
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<UUID, UserLocation> latest = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> usersByCell = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> userIdsByLocationId = new ConcurrentHashMap<>();
+
+    private volatile boolean warmedUp = false;
+
+    /**
+     * Loads all current locations once the application is ready.
+     * Entries written in the meantime are newer and are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<UserLocation> persisted = delegate.findRecentLocations(Instant.EPOCH);
+        persisted.forEach(location -> latest.compute(location.userId(), (userId, current) ->
+                current != null ? current : indexed(null, location)));
+        warmedUp = true;
+        log.info("Location store warmed up with {} locations", persisted.size());
+    }
+
+    @Override
+    public UserLocation save(UserLocation userLocation) {
+        UserLocation saved = delegate.save(userLocation);
+        latest.compute(saved.userId(), (userId, current) ->
+                current != null && saved.updatedAt().isBefore(current.updatedAt()) ? current : indexed(current, saved));
+        return saved;
+    }
+
+    @Override
+    public Optional<UserLocation> findById(UUID id) {
+        UUID userId = userIdsByLocationId.get(id);
+        UserLocation cached = userId != null ? latest.get(userId) : null;
+        if (cached != null && id.equals(cached.id())) {
+            return Optional.of(cached);
+        }
+        // Only the latest location of a user is kept, so any other ID is looked up
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<UserLocation> findLatestByUserId(UUID userId) {
+        UserLocation cached = latest.get(userId);
+        if (cached != null || warmedUp) {
+            return Optional.ofNullable(cached);
+        }
+        return delegate.findLatestByUserId(userId);
+    }
+
+    @Override
+    public Optional<UserLocation> findLatestVisibleByUserId(UUID userId) {
+        return findLatestByUserId(userId).filter(UserLocation::visibleToFriends);
+    }
+
+    @Override
+    public List<UserLocation> findLatestVisibleLocationsByUserIds(List<UUID> userIds) {
+        if (!warmedUp) {
+            return delegate.findLatestVisibleLocationsByUserIds(userIds);
+        }
+        return userIds.stream()
+                .map(latest::get)
+                .filter(Objects::nonNull)
+                .filter(UserLocation::visibleToFriends)
+                .toList();
+    }
+
+    @Override
+    public List<UserLocation> findWithinBounds(double minLat, double maxLat,
+                                               double minLon, double maxLon) {
+        if (!warmedUp) {
+            return delegate.findWithinBounds(minLat, maxLat, minLon, maxLon);
+        }
+        Envelope bounds = new Envelope(minLon, minLat, maxLon, maxLat);
+        Location.Grid grid = applicationProperties.getLocation().getGrid();
+        return Geohash.cover(bounds, grid.getPrecision(), grid.getMaxQueryCells())
+                .map(cells -> visibleIn(bounds, cells))
+                .orElseGet(() -> latest.values().stream()
+                        .filter(UserLocation::visibleToFriends)
+                        .filter(location -> bounds.contains(location.longitude(), location.latitude()))
+                        .toList());
+    }
+
+    @Override
+    public List<UserLocation> findRecentLocations(Instant since) {
+        if (!warmedUp) {
+            return delegate.findRecentLocations(since);
+        }
+        return sortedByUpdate(latest.values().stream()
+                .filter(location -> location.updatedAt().isAfter(since))
+                .toList()).reversed();
+    }
+
+    @Override
+    public List<UserLocation> findStaleLocations(Instant before) {
+        if (!warmedUp) {
+            return delegate.findStaleLocations(before);
+        }
+        return sortedByUpdate(latest.values().stream()
+                .filter(location -> location.updatedAt().isBefore(before))
+                .toList());
+    }
+
+    @Override
+    public boolean hasRecentLocation(UUID userId, Instant since) {
+        if (!warmedUp) {
+            return delegate.hasRecentLocation(userId, since);
+        }
+        UserLocation cached = latest.get(userId);
+        return cached != null && cached.updatedAt().isAfter(since);
+    }
+
+    @Override
+    public void deleteByUserId(UUID userId) {
+        latest.computeIfPresent(userId, (id, current) -> unindexed(current));
+        delegate.deleteByUserId(userId);
+    }
+
+    @Override
+    public void deleteOldLocations(Instant before) {
+        latest.keySet().forEach(userId -> latest.computeIfPresent(userId, (id, current) ->
+                current.updatedAt().isBefore(before) ? unindexed(current) : current));
+        delegate.deleteOldLocations(before);
+    }
+
+    private List<UserLocation> visibleIn(Envelope bounds, List<String> cells) {
+        List<UserLocation> result = new ArrayList<>();
+        for (String cell : cells) {
+            Set<UUID> userIds = usersByCell.get(cell);
+            if (userIds == null) {
+                continue;
+            }
+            for (UUID userId : userIds) {
+                UserLocation location = latest.get(userId);
+                if (location != null && location.visibleToFriends()
+                        && bounds.contains(location.longitude(), location.latitude())) {
+                    result.add(location);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Moves a user to the cell and ID of their new location. Called while the user's
+     * entry in {@link #latest} is locked, so index updates of one user never interleave.
+     *
+     * @return the new location
+     */
+    private UserLocation indexed(UserLocation previous, UserLocation location) {
+        if (previous != null && previous.id() != null && !previous.id().equals(location.id())) {
+            userIdsByLocationId.remove(previous.id());
+        }
+        if (location.id() != null) {
+            userIdsByLocationId.put(location.id(), location.userId());
+        }
+
+        String cell = cellOf(location);
+        if (previous != null) {
+            String previousCell = cellOf(previous);
+            if (previousCell.equals(cell)) {
+                return location;
+            }
+            removeFromCell(previousCell, previous.userId());
+        }
+        usersByCell.compute(cell, (key, userIds) -> {
+            Set<UUID> members = userIds != null ? userIds : ConcurrentHashMap.newKeySet();
+            members.add(location.userId());
+            return members;
+        });
+        return location;
+    }
+
+    /**
+     * Removes a user from the cell and ID indexes. Called while the user's entry in {@link #latest} is locked.
+     *
+     * @return {@code null}, so that the entry is removed
+     */
+    private UserLocation unindexed(UserLocation location) {
+        if (location.id() != null) {
+            userIdsByLocationId.remove(location.id());
+        }
+        removeFromCell(cellOf(location), location.userId());
+        return null;
+    }
+
+    private void removeFromCell(String cell, UUID userId) {
+        usersByCell.computeIfPresent(cell, (key, userIds) -> {
+            userIds.remove(userId);
+            return userIds.isEmpty() ? null : userIds;
+        });
+    }
+
+    private String cellOf(UserLocation location) {
+        return Geohash.encode(location.latitude(), location.longitude(),
+                applicationProperties.getLocation().getGrid().getPrecision());
+    }
+
+    private static List<UserLocation> sortedByUpdate(Collection<UserLocation> locations) {
+        return locations.stream()
+                .sorted((a, b) -> a.updatedAt().compareTo(b.updatedAt()))
+                .toList();
+    }
+}
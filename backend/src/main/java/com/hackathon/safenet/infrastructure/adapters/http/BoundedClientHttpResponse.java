@@ -0,0 +1,103 @@
+package com.hackathon.safenet.infrastructure.adapters.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response whose body fails with an {@link IOException} once it exceeds a size
+ * limit or is still being read after a deadline.
+ */
+final class BoundedClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final long maxBytes;
+    private final long deadline;
+
+    private BoundedInputStream body;
+
+    /**
+     * @param deadline {@link System#nanoTime()} after which reading fails
+     */
+    BoundedClientHttpResponse(ClientHttpResponse delegate, long maxBytes, long deadline) {
+        this.delegate = delegate;
+        this.maxBytes = maxBytes;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new BoundedInputStream(delegate.getBody());
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    /**
+     * @return the number of body bytes read so far
+     */
+    long getBytesRead() {
+        return body != null ? body.count : 0;
+    }
+
+    private final class BoundedInputStream extends FilterInputStream {
+
+        private long count;
+
+        private BoundedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        private void advance(int n) throws IOException {
+            count += n;
+            if (count > maxBytes) {
+                throw new IOException("Response exceeds " + maxBytes + " bytes");
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IOException("Response not read within the total timeout");
+            }
+        }
+    }
+}
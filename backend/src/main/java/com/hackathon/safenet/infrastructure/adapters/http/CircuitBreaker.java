@@ -0,0 +1,75 @@
+package com.hackathon.safenet.infrastructure.adapters.http;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker for one upstream.
+ *
+ * <p>After {@code failureThreshold} failures in a row the circuit opens and
+ * calls are rejected for {@code openDuration}. The first call after that is let
+ * through as a trial; its outcome closes or re-opens the circuit.</p>
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * @return {@code true} if the call may proceed; it must then report
+     * {@link #onSuccess()} or {@link #onFailure()}
+     */
+    synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                yield true;
+            }
+            case HALF_OPEN -> {
+                // Only one trial at a time
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            consecutiveFailures = 0;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,125 @@
+package com.hackathon.safenet.infrastructure.adapters.http;
+
+import com.hackathon.safenet.domain.exception.UpstreamUnavailableException;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Http;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entry point for GET requests to upstream feeds.
+ *
+ * <p>Runs on the pooled, timeout-bounded {@link RestTemplate} and adds what is
+ * specific to feeds: a circuit breaker per upstream, a cap on the response
+ * size and a total timeout for reading the body. Feed adapters name their
+ * upstream, e.g. {@code meteoalarm}, which is also the metric tag.</p>
+ *
+ * <h3>Metrics</h3>
+ * <ul>
+ *   <li><code>safenet.http.client.requests</code> - Timer tagged by upstream and outcome</li>
+ *   <li><code>safenet.http.client.response.size</code> - Body bytes read per upstream</li>
+ *   <li><code>safenet.http.client.circuit.state</code> - 0 closed, 1 half-open, 2 open</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class OutboundHttpClient {
+
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Http settings;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(RestTemplate restTemplate,
+                              MeterRegistry meterRegistry,
+                              ApplicationProperties applicationProperties) {
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        this.settings = applicationProperties.getHttp();
+    }
+
+    /**
+     * Executes a GET request.
+     *
+     * @param upstream  short name of the upstream service
+     * @param uri       the request URI
+     * @param callback  prepares the request, e.g. sets conditional headers
+     * @param extractor reads the response; the body is bounded in size and time
+     * @return the extracted data
+     * @throws UpstreamUnavailableException if the circuit of the upstream is open
+     * @throws org.springframework.web.client.RestClientException if the request fails
+     */
+    public <T> T get(String upstream, URI uri, RequestCallback callback, ResponseExtractor<T> extractor) {
+        CircuitBreaker circuitBreaker = settings.getCircuitBreaker().isEnabled() ? circuitBreaker(upstream) : null;
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            meterRegistry.counter("safenet.http.client.requests.rejected", "upstream", upstream).increment();
+            throw new UpstreamUnavailableException("Circuit open for upstream " + upstream);
+        }
+
+        long deadline = System.nanoTime() + settings.getTotalTimeout().toNanos();
+        long[] bytesRead = {0};
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            T result = restTemplate.execute(uri, HttpMethod.GET, callback, response -> {
+                BoundedClientHttpResponse bounded = new BoundedClientHttpResponse(
+                        response, settings.getMaxResponseSize().toBytes(), deadline);
+                try {
+                    return extractor.extractData(bounded);
+                } finally {
+                    bytesRead[0] = bounded.getBytesRead();
+                }
+            });
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess();
+            }
+            return result;
+        } catch (HttpClientErrorException e) {
+            // The upstream answered, so it is available
+            outcome = "client_error";
+            if (circuitBreaker != null) {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = e instanceof HttpServerErrorException ? "server_error" : "io_error";
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure();
+            }
+            log.warn("Request to upstream {} failed: {}", upstream, e.getMessage());
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("safenet.http.client.requests", "upstream", upstream, "outcome", outcome));
+            DistributionSummary.builder("safenet.http.client.response.size")
+                    .baseUnit("bytes")
+                    .tag("upstream", upstream)
+                    .register(meterRegistry)
+                    .record(bytesRead[0]);
+        }
+    }
+
+    private CircuitBreaker circuitBreaker(String upstream) {
+        return circuitBreakers.computeIfAbsent(upstream, key -> {
+            Http.CircuitBreaker config = settings.getCircuitBreaker();
+            CircuitBreaker circuitBreaker = new CircuitBreaker(config.getFailureThreshold(), config.getOpenDuration());
+            Gauge.builder("safenet.http.client.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                    .tag("upstream", key)
+                    .register(meterRegistry);
+            return circuitBreaker;
+        });
+    }
+}
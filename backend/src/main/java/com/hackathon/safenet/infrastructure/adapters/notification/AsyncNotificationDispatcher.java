@@ -0,0 +1,342 @@
+package com.hackathon.safenet.infrastructure.adapters.notification;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.domain.model.NotificationMessage.Priority;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous {@link NotificationPort} in front of the WebSocket adapter.
+ *
+ * <p>Every send is published as an application event and only queued once the
+ * surrounding transaction has committed (or immediately when there is none),
+ * so neither the database transaction nor the inbound STOMP thread waits for
+ * serialization and delivery. Rolled back work never notifies anyone.</p>
+ *
+ * <h3>Priority Lanes</h3>
+ * <ul>
+ *   <li>Each {@link Priority} has its own lane and admits at most
+ *       {@code queue-capacity} pending deliveries, counting those that wait
+ *       behind an earlier delivery of the same sender</li>
+ *   <li>Virtual-thread workers always take from the most urgent non-empty lane,
+ *       so an {@code EMERGENCY_ALERT} never waits behind location updates</li>
+ *   <li>A full {@code LOW} priority drops the delivery; the next location update
+ *       supersedes it anyway. Other full priorities deliver on the calling
+ *       thread, except for per-sender ordered deliveries: running those early
+ *       would overtake the sender's queued ones, so the caller waits for room
+ *       for up to the shutdown timeout and drops the delivery after that</li>
+ * </ul>
+ *
+ * <h3>Per-Sender Order</h3>
+ * <p>Lanes reorder notifications of different priorities, which must not
+ * happen between the location notifications of one sender: a
+ * {@code LOCATION_SHARING_DISABLED} overtaking an earlier
+ * {@code LOCATION_UPDATE} would show a position after sharing was turned
+ * off. Location updates and sharing toggles are therefore queued per sender
+ * in commit order, and only the oldest of them waits in its priority lane;
+ * the next one is queued once it has been delivered.</p>
+ *
+ * <p>When a {@link LocationUpdateConflator} is present, committed
+ * {@code LOCATION_UPDATE}s are handed to it instead of being delivered
+ * directly. Sharing toggles discard the sender's held updates before they
+ * are delivered; every other type bypasses conflation.</p>
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "safenet.notification.dispatch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncNotificationDispatcher implements NotificationPort {
+
+    private static final Priority[] BY_URGENCY = {Priority.URGENT, Priority.HIGH, Priority.NORMAL, Priority.LOW};
+
+    private static final Set<NotificationType> ORDERED_PER_SENDER = EnumSet.of(
+            NotificationType.LOCATION_UPDATE,
+            NotificationType.LOCATION_SHARING_ENABLED,
+            NotificationType.LOCATION_SHARING_DISABLED);
+
+    /**
+     * A delivery waiting for its transaction to commit.
+     *
+     * @param orderKey deliveries with the same key run one after another in
+     *                 commit order, or {@code null} if the delivery needs no ordering
+     */
+    public record NotificationDispatchEvent(Priority priority, String orderKey, Runnable delivery) {
+    }
+
+    private record Delivery(Priority priority, Runnable action) {
+    }
+
+    private final WebSocketNotificationAdapter delegate;
+    private final LocationUpdateConflator conflator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Notification.Dispatch settings;
+
+    private final List<BlockingQueue<Runnable>> lanes = new ArrayList<>();
+    // Pending deliveries per priority, in a lane or in a strand
+    private final List<Semaphore> slots = new ArrayList<>();
+    // Ordered deliveries per key; the first one is in a lane, the others wait for it
+    private final Map<String, Deque<Delivery>> strands = new ConcurrentHashMap<>();
+    private final Semaphore queued = new Semaphore(0);
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Counter droppedCounter;
+
+    public AsyncNotificationDispatcher(WebSocketNotificationAdapter delegate,
+                                       Optional<LocationUpdateConflator> conflator,
+                                       ApplicationEventPublisher eventPublisher,
+                                       ApplicationProperties applicationProperties,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.conflator = conflator.orElse(null);
+        this.eventPublisher = eventPublisher;
+        this.settings = applicationProperties.getNotification().getDispatch();
+
+        int capacity = settings.getQueueCapacity();
+        for (Priority priority : Priority.values()) {
+            Semaphore free = new Semaphore(capacity);
+            lanes.add(new ArrayBlockingQueue<>(capacity));
+            slots.add(free);
+            Gauge.builder("safenet.notifications.dispatch.queued", free, slot -> capacity - slot.availablePermits())
+                    .description("Pending deliveries of a priority")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+        }
+
+        this.droppedCounter = Counter.builder("safenet.notifications.dispatch.dropped")
+                .description("Deliveries dropped because their priority was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < settings.getWorkers(); i++) {
+            workers.add(Thread.ofVirtual().name("notification-dispatch-" + i).start(this::work));
+        }
+        log.info("Started {} notification dispatch workers", settings.getWorkers());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + settings.getShutdownTimeout().toNanos();
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        if (queued.availablePermits() > 0) {
+            log.warn("Discarding {} undelivered notifications on shutdown", queued.availablePermits());
+        }
+    }
+
+    @Override
+    public void send(NotificationMessage notification) {
+        publish(notification.getPriority(), orderKey(notification.getType(), notification.getSenderId()),
+                () -> delegate.send(notification));
+    }
+
+    @Override
+    public void sendToMany(NotificationType type, String senderId,
+                           Collection<String> receiverIds, Map<String, Object> data) {
+        Priority priority = Priority.forType(type);
+        String orderKey = orderKey(type, senderId);
+        if (conflator == null) {
+            publish(priority, orderKey, () -> delegate.sendToMany(type, senderId, receiverIds, data));
+            return;
+        }
+
+        switch (type) {
+            case LOCATION_UPDATE -> publish(priority, orderKey,
+                    () -> conflator.offer(senderId, receiverIds, data));
+            case LOCATION_SHARING_ENABLED, LOCATION_SHARING_DISABLED -> publish(priority, orderKey, () -> {
+                conflator.discard(senderId, receiverIds);
+                delegate.sendToMany(type, senderId, receiverIds, data);
+            });
+            default -> publish(priority, orderKey, () -> delegate.sendToMany(type, senderId, receiverIds, data));
+        }
+    }
+
+    @Override
+    public void sendToTopic(String topic, NotificationMessage notification) {
+        publish(notification.getPriority(), null, () -> delegate.sendToTopic(topic, notification));
+    }
+
+    /**
+     * Queues a delivery once the publishing transaction has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void enqueue(NotificationDispatchEvent event) {
+        Delivery delivery = new Delivery(event.priority(), event.delivery());
+        if (!reserve(delivery, event.orderKey() != null)) {
+            return;
+        }
+        if (event.orderKey() == null) {
+            queue(delivery.priority(), () -> runAndRelease(delivery));
+            return;
+        }
+
+        boolean[] first = {false};
+        strands.compute(event.orderKey(), (key, strand) -> {
+            Deque<Delivery> pending = strand != null ? strand : new ArrayDeque<>();
+            pending.addLast(delivery);
+            first[0] = pending.size() == 1;
+            return pending;
+        });
+        if (first[0]) {
+            queueHead(event.orderKey(), delivery);
+        }
+    }
+
+    private void publish(Priority priority, String orderKey, Runnable delivery) {
+        eventPublisher.publishEvent(new NotificationDispatchEvent(priority, orderKey, delivery));
+    }
+
+    private static String orderKey(NotificationType type, String senderId) {
+        return ORDERED_PER_SENDER.contains(type) ? senderId : null;
+    }
+
+    /**
+     * Takes a slot of the delivery's priority, or applies the overflow policy
+     * when there is none.
+     *
+     * @return whether the delivery may be queued
+     */
+    private boolean reserve(Delivery delivery, boolean ordered) {
+        Semaphore free = slots.get(delivery.priority().ordinal());
+        if (free.tryAcquire()) {
+            return true;
+        }
+        if (delivery.priority() == Priority.LOW) {
+            droppedCounter.increment();
+            log.debug("Low priority notifications full, dropping delivery");
+            return false;
+        }
+        if (!ordered) {
+            log.warn("{} notifications full, delivering on calling thread", delivery.priority());
+            run(delivery.action());
+            return false;
+        }
+
+        log.warn("{} notifications full, waiting for room", delivery.priority());
+        try {
+            if (free.tryAcquire(settings.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCounter.increment();
+        log.warn("{} notifications still full, dropping ordered delivery", delivery.priority());
+        return false;
+    }
+
+    /**
+     * Puts a delivery that holds a slot into its lane, which has room for
+     * every slot of its priority.
+     */
+    private void queue(Priority priority, Runnable action) {
+        lanes.get(priority.ordinal()).add(action);
+        queued.release();
+    }
+
+    private void runAndRelease(Delivery delivery) {
+        try {
+            run(delivery.action());
+        } finally {
+            slots.get(delivery.priority().ordinal()).release();
+        }
+    }
+
+    /**
+     * Puts the first delivery of a strand into its lane.
+     */
+    private void queueHead(String orderKey, Delivery head) {
+        if (head != null) {
+            queue(head.priority(), () -> runHead(orderKey, head));
+        }
+    }
+
+    private void runHead(String orderKey, Delivery head) {
+        runAndRelease(head);
+        queueHead(orderKey, advance(orderKey));
+    }
+
+    /**
+     * Removes the delivered head of a strand.
+     *
+     * @return the next delivery, or {@code null} if the strand is done
+     */
+    private Delivery advance(String orderKey) {
+        Delivery[] next = {null};
+        strands.computeIfPresent(orderKey, (key, pending) -> {
+            pending.pollFirst();
+            next[0] = pending.peekFirst();
+            return pending.isEmpty() ? null : pending;
+        });
+        return next[0];
+    }
+
+    private void work() {
+        while (running || queued.availablePermits() > 0) {
+            try {
+                if (!queued.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            Runnable delivery = next();
+            if (delivery != null) {
+                run(delivery);
+            }
+        }
+    }
+
+    private Runnable next() {
+        for (Priority priority : BY_URGENCY) {
+            Runnable delivery = lanes.get(priority.ordinal()).poll();
+            if (delivery != null) {
+                return delivery;
+            }
+        }
+        return null;
+    }
+
+    private static void run(Runnable delivery) {
+        try {
+            delivery.run();
+        } catch (Exception e) {
+            log.error("Notification delivery failed: {}", e.getMessage());
+        }
+    }
+}
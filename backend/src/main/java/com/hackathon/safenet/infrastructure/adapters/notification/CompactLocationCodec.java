@@ -0,0 +1,107 @@
+package com.hackathon.safenet.infrastructure.adapters.notification;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import org.springframework.util.MimeType;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Fixed-width binary encoding of location frames.
+ *
+ * <p>All numbers are big-endian. A frame is a 4 byte header followed by one
+ * 34 byte record per location, so a single update is 38 bytes instead of
+ * several hundred bytes of JSON.</p>
+ *
+ * <pre>
+ * header  u8  version (1)
+ *         u8  kind: 1 = LOCATION_UPDATE, 2 = LOCATION_UPDATE_BATCH
+ *         u16 record count
+ * record  16  sender user ID (UUID, most significant half first)
+ *         i32 latitude in 1e-7 degrees
+ *         i32 longitude in 1e-7 degrees
+ *         u16 accuracy in metres, rounded up; 0xFFFF if unknown
+ *         i64 update time in epoch milliseconds
+ * </pre>
+ *
+ * <p>A batch of more than {@value #MAX_RECORDS} locations does not fit the
+ * record count and is not encoded; its receivers get JSON instead.</p>
+ */
+final class CompactLocationCodec {
+
+    static final MimeType CONTENT_TYPE = new MimeType("application", "vnd.safenet.location");
+
+    private static final byte VERSION = 1;
+    private static final byte KIND_UPDATE = 1;
+    private static final byte KIND_BATCH = 2;
+    private static final int HEADER_SIZE = 4;
+    private static final int RECORD_SIZE = 34;
+    static final int MAX_RECORDS = 0xFFFF;
+    private static final double FIXED_POINT = 1e7;
+    private static final int UNKNOWN_ACCURACY = 0xFFFF;
+
+    private CompactLocationCodec() {
+    }
+
+    /**
+     * @return {@code true} for the notification types this codec can encode
+     */
+    static boolean supports(NotificationType type) {
+        return type == NotificationType.LOCATION_UPDATE || type == NotificationType.LOCATION_UPDATE_BATCH;
+    }
+
+    /**
+     * @return the frame, or {@code null} if the notification lacks a field the format
+     *         requires or has more than {@value #MAX_RECORDS} locations
+     */
+    @SuppressWarnings("unchecked")
+    static byte[] encode(NotificationMessage notification) {
+        List<Map<String, Object>> locations;
+        byte kind;
+        if (notification.getType() == NotificationType.LOCATION_UPDATE) {
+            locations = List.of(notification.getData());
+            kind = KIND_UPDATE;
+        } else if (notification.getType() == NotificationType.LOCATION_UPDATE_BATCH
+                && notification.getData().get("locations") instanceof List<?> batch) {
+            locations = (List<Map<String, Object>>) batch;
+            kind = KIND_BATCH;
+        } else {
+            return null;
+        }
+        if (locations.size() > MAX_RECORDS) {
+            return null;
+        }
+
+        long fallbackTime = notification.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + RECORD_SIZE * locations.size());
+        frame.put(VERSION).put(kind).putShort((short) locations.size());
+        for (Map<String, Object> location : locations) {
+            if (!(location.get("userId") instanceof String userId)
+                    || !(location.get("latitude") instanceof Number latitude)
+                    || !(location.get("longitude") instanceof Number longitude)) {
+                return null;
+            }
+            UUID sender = UUID.fromString(userId);
+            frame.putLong(sender.getMostSignificantBits())
+                    .putLong(sender.getLeastSignificantBits())
+                    .putInt((int) Math.round(latitude.doubleValue() * FIXED_POINT))
+                    .putInt((int) Math.round(longitude.doubleValue() * FIXED_POINT))
+                    .putShort((short) accuracy(location.get("accuracy")))
+                    .putLong(location.get("updatedAt") instanceof Instant updatedAt
+                            ? updatedAt.toEpochMilli() : fallbackTime);
+        }
+        return frame.array();
+    }
+
+    private static int accuracy(Object value) {
+        if (!(value instanceof Number accuracy)) {
+            return UNKNOWN_ACCURACY;
+        }
+        return (int) Math.min(UNKNOWN_ACCURACY - 1, Math.max(0, Math.ceil(accuracy.doubleValue())));
+    }
+}
@@ -0,0 +1,94 @@
+package com.hackathon.safenet.infrastructure.adapters.notification;
+
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Notification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Location encodings negotiated by the WebSocket sessions of each user.
+ *
+ * <p>A client opts into binary location frames by sending
+ * {@code location-encoding: compact} with its STOMP CONNECT; every other
+ * session gets JSON. A user can have sessions of both kinds, e.g. a phone
+ * and a browser. Users whose sessions are unknown to this instance, such as
+ * users connected to another replica, are treated as JSON clients.</p>
+ *
+ * <p>Frames go to user destinations, i.e. to every session of the user that
+ * subscribed to the queue. A user with sessions of both kinds therefore gets
+ * every location frame on both queues, and each session must take location
+ * frames from one queue only: compact sessions from
+ * {@code /user/queue/locations.compact}, ignoring location types on
+ * {@code /user/queue/notifications}; JSON sessions do not subscribe to the
+ * compact queue.</p>
+ */
+@Slf4j
+@Component
+public class LocationEncodingRegistry {
+
+    public static final String HEADER = "location-encoding";
+    public static final String COMPACT = "compact";
+
+    private final Notification.CompactEncoding settings;
+
+    // Session ID to compact flag, per user
+    private final Map<String, Map<String, Boolean>> sessionsByUser = new ConcurrentHashMap<>();
+
+    public LocationEncodingRegistry(ApplicationProperties applicationProperties) {
+        this.settings = applicationProperties.getNotification().getCompactEncoding();
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        Principal user = event.getUser();
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (user == null || accessor.getSessionId() == null) {
+            return;
+        }
+        boolean compact = settings.isEnabled() && COMPACT.equalsIgnoreCase(accessor.getFirstNativeHeader(HEADER));
+        sessionsByUser.compute(user.getName(), (key, sessions) -> {
+            Map<String, Boolean> known = sessions != null ? sessions : new ConcurrentHashMap<>();
+            known.put(accessor.getSessionId(), compact);
+            return known;
+        });
+        if (compact) {
+            log.debug("Session {} of user {} uses compact location frames", accessor.getSessionId(), user.getName());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Principal user = event.getUser();
+        if (user == null) {
+            return;
+        }
+        sessionsByUser.computeIfPresent(user.getName(), (key, sessions) -> {
+            sessions.remove(event.getSessionId());
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * @return {@code true} if at least one session of the user asked for compact frames
+     */
+    public boolean wantsCompact(String userId) {
+        Map<String, Boolean> sessions = sessionsByUser.get(userId);
+        return sessions != null && sessions.containsValue(Boolean.TRUE);
+    }
+
+    /**
+     * @return {@code true} if the user has a JSON session or none known to this instance
+     */
+    public boolean wantsJson(String userId) {
+        Map<String, Boolean> sessions = sessionsByUser.get(userId);
+        return sessions == null || sessions.containsValue(Boolean.FALSE);
+    }
+}
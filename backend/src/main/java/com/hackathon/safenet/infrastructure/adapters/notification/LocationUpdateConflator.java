@@ -0,0 +1,180 @@
+package com.hackathon.safenet.infrastructure.adapters.notification;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-receiver conflation of friend location updates.
+ *
+ * <p>Location updates are held per receiver for one tick. A newer update of
+ * the same sender replaces the held one, and at the end of the tick every
+ * receiver gets a single frame: a plain {@code LOCATION_UPDATE} if one sender
+ * moved, otherwise a {@code LOCATION_UPDATE_BATCH} with the latest location of
+ * each sender. A receiver with 150 moving friends therefore gets one frame per
+ * tick instead of one per ping, which keeps slow clients from building up a
+ * backlog in the broker.</p>
+ *
+ * <p>Only {@code LOCATION_UPDATE} is conflated. When a sender toggles sharing,
+ * {@link #discard} drops their held updates so that a stale position cannot
+ * arrive after the toggle. A tick sends each frame under the read lock and
+ * {@code discard} takes the write lock, so a frame that was taken before the
+ * discard has been handed to the broker by the time {@code discard} returns
+ * and the toggle is sent.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "safenet.notification.conflation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LocationUpdateConflator {
+
+    // Latest update data per sender, in order of first arrival within the tick
+    private static final class Pending {
+        final Map<String, Map<String, Object>> bySender = new LinkedHashMap<>();
+        int offered;
+    }
+
+    private final WebSocketNotificationAdapter delegate;
+    private final Notification.Conflation settings;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock sending = new ReentrantReadWriteLock();
+    private Thread ticker;
+    private volatile boolean running;
+
+    private final Counter offeredCounter;
+    private final Counter framesCounter;
+    private final Counter savedCounter;
+
+    public LocationUpdateConflator(WebSocketNotificationAdapter delegate,
+                                   ApplicationProperties applicationProperties,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.settings = applicationProperties.getNotification().getConflation();
+
+        Gauge.builder("safenet.notifications.conflation.pending", pending, Map::size)
+                .description("Receivers with location updates waiting for the next tick")
+                .register(meterRegistry);
+        this.offeredCounter = Counter.builder("safenet.notifications.conflation.updates")
+                .description("Location updates offered for conflation, per receiver")
+                .register(meterRegistry);
+        this.framesCounter = Counter.builder("safenet.notifications.conflation.frames")
+                .description("Location frames sent after conflation")
+                .register(meterRegistry);
+        this.savedCounter = Counter.builder("safenet.notifications.conflation.frames.saved")
+                .description("Location frames not sent because updates were replaced or batched")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        ticker = Thread.ofVirtual().name("location-conflation").start(this::tick);
+        log.info("Conflating location updates every {}", settings.getTick());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        ticker.interrupt();
+        ticker.join(settings.getTick().toMillis() + 1000);
+        flush();
+    }
+
+    /**
+     * Holds a location update of a sender for every receiver until the next tick.
+     */
+    public void offer(String senderId, Collection<String> receiverIds, Map<String, Object> data) {
+        for (String receiverId : receiverIds) {
+            pending.compute(receiverId, (key, held) -> {
+                Pending updates = held != null ? held : new Pending();
+                updates.bySender.put(senderId, data);
+                updates.offered++;
+                return updates;
+            });
+        }
+        offeredCounter.increment(receiverIds.size());
+    }
+
+    /**
+     * Drops the held location updates of a sender, e.g. because sharing was
+     * toggled. Waits for frames that are being sent, so none of them can
+     * arrive after a notification sent once this returns.
+     */
+    public void discard(String senderId, Collection<String> receiverIds) {
+        sending.writeLock().lock();
+        try {
+            for (String receiverId : receiverIds) {
+                pending.computeIfPresent(receiverId, (key, held) -> {
+                    held.bySender.remove(senderId);
+                    return held.bySender.isEmpty() ? null : held;
+                });
+            }
+        } finally {
+            sending.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sends one frame to every receiver with held updates.
+     */
+    void flush() {
+        for (String receiverId : pending.keySet()) {
+            sending.readLock().lock();
+            try {
+                Pending updates = pending.remove(receiverId);
+                if (updates == null || updates.bySender.isEmpty()) {
+                    continue;
+                }
+
+                delegate.send(toFrame(receiverId, updates));
+                framesCounter.increment();
+                savedCounter.increment(updates.offered - 1);
+            } catch (Exception e) {
+                log.error("Failed to send location updates to user {}: {}", receiverId, e.getMessage());
+            } finally {
+                sending.readLock().unlock();
+            }
+        }
+    }
+
+    private void tick() {
+        while (running) {
+            try {
+                Thread.sleep(settings.getTick());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flush();
+        }
+    }
+
+    private static NotificationMessage toFrame(String receiverId, Pending updates) {
+        if (updates.bySender.size() == 1) {
+            Map.Entry<String, Map<String, Object>> only = updates.bySender.entrySet().iterator().next();
+            return NotificationMessage.create(NotificationType.LOCATION_UPDATE, only.getKey(), receiverId,
+                    only.getValue());
+        }
+        List<Map<String, Object>> locations = new ArrayList<>(updates.bySender.values());
+        return NotificationMessage.create(NotificationType.LOCATION_UPDATE_BATCH, null, receiverId,
+                Map.of("locations", locations));
+    }
+}
@@ -1,17 +1,40 @@
 package com.hackathon.safenet.infrastructure.adapters.notification;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.safenet.domain.enums.NotificationType;
 import com.hackathon.safenet.domain.exception.NotificationDeliveryException;
 import com.hackathon.safenet.domain.model.NotificationMessage;
 import com.hackathon.safenet.domain.model.NotificationPayload;
 import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * WebSocket implementation of NotificationPort.
  * Handles delivery via Spring WebSocket/STOMP.
+ *
+ * <p>Payloads are serialized once into a byte array; every recipient of a
+ * fan-out receives a message wrapping the same bytes.</p>
+ *
+ * <p>Location frames for users that negotiated the compact encoding (see
+ * {@link LocationEncodingRegistry}) are sent as {@link CompactLocationCodec}
+ * frames to {@code /user/queue/locations.compact} instead of JSON.</p>
  */
 @Slf4j
 @Service
@@ -19,37 +42,35 @@ import org.springframework.stereotype.Service;
 public class WebSocketNotificationAdapter implements NotificationPort {
 
     private static final String USER_QUEUE = "/queue/notifications";
+    private static final String COMPACT_LOCATION_QUEUE = "/queue/locations.compact";
     private static final String TOPIC_PREFIX = "/topic/";
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final LocationEncodingRegistry encodings;
 
     @Override
     public void send(NotificationMessage notification) {
         validate(notification);
-
-        if (notification.isExpired()) {
-            log.debug("Skipping expired notification: {}", notification.getType());
-            return;
+        if (notification.getReceiverId() == null || notification.getReceiverId().isBlank()) {
+            throw new IllegalArgumentException("Receiver ID is required");
         }
 
-        try {
-            NotificationPayload payload = NotificationPayload.from(notification);
+        deliver(notification, List.of(notification.getReceiverId()));
+    }
 
-            messagingTemplate.convertAndSendToUser(
-                    notification.getReceiverId(),
-                    USER_QUEUE,
-                    payload
-            );
+    @Override
+    public void sendToMany(NotificationType type, String senderId,
+                           Collection<String> receiverIds, Map<String, Object> data) {
+        if (receiverIds == null || receiverIds.isEmpty()) {
+            return;
+        }
 
-            log.debug("Sent {} notification to user {}",
-                    notification.getType(), notification.getReceiverId());
+        NotificationMessage notification = NotificationMessage.create(type, senderId, null, data);
+        validate(notification);
 
-        } catch (Exception e) {
-            log.error("Failed to send notification to user {}: {}",
-                    notification.getReceiverId(), e.getMessage());
-            throw new NotificationDeliveryException(
-                    "Failed to deliver notification", e);
-        }
+        deliver(notification, receiverIds);
     }
 
     @Override
@@ -61,12 +82,7 @@ public class WebSocketNotificationAdapter implements NotificationPort {
         validate(notification);
 
         try {
-            NotificationPayload payload = NotificationPayload.from(notification);
-
-            messagingTemplate.convertAndSend(
-                    TOPIC_PREFIX + topic,
-                    payload
-            );
+            messagingTemplate.send(TOPIC_PREFIX + topic, toMessage(notification));
 
             log.debug("Sent {} notification to topic {}",
                     notification.getType(), topic);
@@ -79,6 +95,93 @@ public class WebSocketNotificationAdapter implements NotificationPort {
         }
     }
 
+    private void deliver(NotificationMessage notification, Collection<String> receiverIds) {
+        if (notification.isExpired()) {
+            log.debug("Skipping expired notification: {}", notification.getType());
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String type = notification.getType().name();
+
+        int failed = 0;
+        Collection<String> jsonReceivers = receiverIds;
+        if (CompactLocationCodec.supports(notification.getType())) {
+            List<String> compactReceivers = receiverIds.stream().filter(encodings::wantsCompact).toList();
+            byte[] frame = compactReceivers.isEmpty() ? null : CompactLocationCodec.encode(notification);
+            if (frame != null) {
+                failed += sendToUsers(compactReceivers, COMPACT_LOCATION_QUEUE,
+                        toMessage(frame, CompactLocationCodec.CONTENT_TYPE));
+                recordFrameSize("compact", type, frame.length);
+                jsonReceivers = receiverIds.stream().filter(encodings::wantsJson).toList();
+            }
+        }
+
+        if (!jsonReceivers.isEmpty()) {
+            byte[] body = serialize(notification);
+            failed += sendToUsers(jsonReceivers, USER_QUEUE, toMessage(body, MimeTypeUtils.APPLICATION_JSON));
+            recordFrameSize("json", type, body.length);
+        }
+
+        sample.stop(meterRegistry.timer("safenet.notifications.batch", "type", type));
+        DistributionSummary.builder("safenet.notifications.batch.recipients")
+                .description("Recipients per notification batch")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(receiverIds.size());
+
+        log.debug("Sent {} notification to {} users", type, receiverIds.size() - failed);
+
+        if (failed >= receiverIds.size()) {
+            throw new NotificationDeliveryException("Failed to deliver notification", null);
+        }
+    }
+
+    /**
+     * @return the number of users the message could not be sent to
+     */
+    private int sendToUsers(Collection<String> receiverIds, String queue, Message<byte[]> message) {
+        int failed = 0;
+        for (String receiverId : receiverIds) {
+            try {
+                // The template copies the headers per destination; the payload bytes are shared
+                messagingTemplate.send(messagingTemplate.getUserDestinationPrefix() + receiverId + queue, message);
+            } catch (Exception e) {
+                failed++;
+                log.error("Failed to send notification to user {}: {}", receiverId, e.getMessage());
+            }
+        }
+        return failed;
+    }
+
+    private void recordFrameSize(String encoding, String type, int bytes) {
+        DistributionSummary.builder("safenet.notifications.frame.size")
+                .description("Serialized notification size")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private Message<byte[]> toMessage(NotificationMessage notification) {
+        return toMessage(serialize(notification), MimeTypeUtils.APPLICATION_JSON);
+    }
+
+    private byte[] serialize(NotificationMessage notification) {
+        try {
+            return objectMapper.writeValueAsBytes(NotificationPayload.from(notification));
+        } catch (JsonProcessingException e) {
+            throw new NotificationDeliveryException("Failed to serialize notification", e);
+        }
+    }
+
+    private static Message<byte[]> toMessage(byte[] body, MimeType contentType) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(contentType);
+        return MessageBuilder.createMessage(body, headers.getMessageHeaders());
+    }
+
     private void validate(NotificationMessage notification) {
         if (notification == null) {
             throw new IllegalArgumentException("Notification cannot be null");
@@ -86,8 +189,5 @@ public class WebSocketNotificationAdapter implements NotificationPort {
         if (notification.getType() == null) {
             throw new IllegalArgumentException("Notification type is required");
         }
-        if (notification.getReceiverId() == null || notification.getReceiverId().isBlank()) {
-            throw new IllegalArgumentException("Receiver ID is required");
-        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.hackathon.safenet.infrastructure.adapters.rss;
+
+import com.hackathon.safenet.domain.ports.outbound.FeedPort;
+import com.hackathon.safenet.infrastructure.adapters.http.OutboundHttpClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fetches warning feeds with conditional GET requests.
+ *
+ * <p>The ETag and Last-Modified validators of the last successfully read
+ * response of each URI are sent back as If-None-Match / If-Modified-Since, so
+ * an unchanged feed costs a 304 without a body. Requests go through the
+ * {@link OutboundHttpClient}, which handles gzip, timeouts and the circuit breaker.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HttpFeedAdapter implements FeedPort {
+
+    private final OutboundHttpClient httpClient;
+
+    private final Map<URI, Validators> validators = new ConcurrentHashMap<>();
+
+    private record Validators(String etag, String lastModified) {
+    }
+
+    @Override
+    public <T> Optional<T> fetchFeed(String upstream, URI uri, FeedReader<T> reader) {
+        Validators previous = validators.get(uri);
+        return httpClient.get(upstream, uri,
+                request -> {
+                    if (previous == null) {
+                        return;
+                    }
+                    HttpHeaders headers = request.getHeaders();
+                    if (previous.etag() != null) {
+                        headers.setIfNoneMatch(previous.etag());
+                    }
+                    if (previous.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+                    }
+                },
+                response -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        log.debug("Feed {} not modified", uri);
+                        return Optional.empty();
+                    }
+
+                    T result = reader.read(response.getBody());
+
+                    String etag = response.getHeaders().getETag();
+                    String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                    if (etag != null || lastModified != null) {
+                        validators.put(uri, new Validators(etag, lastModified));
+                    } else {
+                        validators.remove(uri);
+                    }
+                    return Optional.ofNullable(result);
+                });
+    }
+}
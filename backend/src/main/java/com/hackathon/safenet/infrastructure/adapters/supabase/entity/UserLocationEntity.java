@@ -25,13 +25,15 @@ import java.util.UUID;
  * - Visibility flag for privacy control
  * - Automatic timestamp management
  * - Accuracy and altitude tracking
+ * - Geohash cell for bounding-box queries
  */
 @Entity
 @Table(name = "user_locations",
         indexes = {
                 @Index(name = "idx_user_locations_user", columnList = "user_id"),
                 @Index(name = "idx_user_locations_updated", columnList = "updated_at"),
-                @Index(name = "idx_user_locations_visible", columnList = "visible_to_friends")
+                @Index(name = "idx_user_locations_visible", columnList = "visible_to_friends"),
+                @Index(name = "idx_user_locations_geohash", columnList = "geohash")
         })
 @Data
 @Builder
@@ -88,6 +90,13 @@ public class UserLocationEntity {
     @Column(name = "accuracy", precision = 8, scale = 2)
     private BigDecimal accuracy;
 
+    /**
+     * Geohash cell of the coordinates at the configured grid precision
+     * Maintained on every save and used by bounding-box queries
+     */
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+
     /**
      * Whether this location is visible to friends
      * If false, location is still stored but not shared with friends
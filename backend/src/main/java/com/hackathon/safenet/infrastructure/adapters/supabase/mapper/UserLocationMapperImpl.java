@@ -1,22 +1,28 @@
 package com.hackathon.safenet.infrastructure.adapters.supabase.mapper;
 
+import com.hackathon.safenet.application.util.geo.Geohash;
 import com.hackathon.safenet.domain.model.UserLocation;
 import com.hackathon.safenet.infrastructure.adapters.supabase.entity.UserLocationEntity;
 import com.hackathon.safenet.infrastructure.adapters.supabase.entity.UserEntity;
 import com.hackathon.safenet.infrastructure.adapters.supabase.repository.UserJpaRepository;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 
 /**
- * Mapper component for converting between UserLocation domain model and UserLocationEntity
+ * Mapper component for converting between UserLocation domain model and UserLocationEntity.
+ * The entity keeps the NUMERIC columns as BigDecimal; the domain model uses doubles.
+ * The geohash cell is derived from the coordinates and only exists on the entity.
  */
 @Component
 @RequiredArgsConstructor
 public class UserLocationMapperImpl implements EntityMapper<UserLocation, UserLocationEntity> {
 
     private final UserJpaRepository userJpaRepository;
+    private final ApplicationProperties applicationProperties;
 
     @Override
     public UserLocation toDomain(UserLocationEntity entity) {
@@ -27,10 +33,10 @@ public class UserLocationMapperImpl implements EntityMapper<UserLocation, UserLo
         return new UserLocation(
                 entity.getId(),
                 entity.getUser().getId(),
-                entity.getLatitude(),
-                entity.getLongitude(),
-                entity.getAltitude(),
-                entity.getAccuracy(),
+                entity.getLatitude().doubleValue(),
+                entity.getLongitude().doubleValue(),
+                toDouble(entity.getAltitude()),
+                toDouble(entity.getAccuracy()),
                 entity.getVisibleToFriends(),
                 entity.getCreatedAt(),
                 entity.getUpdatedAt()
@@ -43,20 +49,29 @@ public class UserLocationMapperImpl implements EntityMapper<UserLocation, UserLo
             return null;
         }
 
-        // Fetch user entity
-        UserEntity user = userJpaRepository.findById(domain.userId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found: " + domain.userId()));
+        // Reference only - the foreign key is all that is written, no SELECT needed
+        UserEntity user = userJpaRepository.getReferenceById(domain.userId());
 
         return UserLocationEntity.builder()
                 .id(domain.id())
                 .user(user)
-                .latitude(domain.latitude())
-                .longitude(domain.longitude())
-                .altitude(domain.altitude())
-                .accuracy(domain.accuracy())
+                .latitude(BigDecimal.valueOf(domain.latitude()))
+                .longitude(BigDecimal.valueOf(domain.longitude()))
+                .altitude(toBigDecimal(domain.altitude()))
+                .accuracy(toBigDecimal(domain.accuracy()))
+                .geohash(Geohash.encode(domain.latitude(), domain.longitude(),
+                        applicationProperties.getLocation().getGrid().getPrecision()))
                 .visibleToFriends(domain.visibleToFriends())
                 .createdAt(domain.createdAt())
                 .updatedAt(domain.updatedAt() != null ? domain.updatedAt() : Instant.now())
                 .build();
     }
-}
\ No newline at end of file
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private static BigDecimal toBigDecimal(Double value) {
+        return value != null ? BigDecimal.valueOf(value) : null;
+    }
+}
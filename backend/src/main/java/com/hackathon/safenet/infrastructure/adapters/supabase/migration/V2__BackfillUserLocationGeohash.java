@@ -0,0 +1,70 @@
+package com.hackathon.safenet.infrastructure.adapters.supabase.migration;
+
+import com.hackathon.safenet.application.util.geo.Geohash;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Fills {@code user_locations.geohash} for rows written before the column
+ * existed, at the configured grid precision.
+ *
+ * <p>Postgres has no geohash function without PostGIS, so the cells are
+ * computed with {@link Geohash} exactly as the application writes them.
+ * Registered as a bean so Flyway runs it with the configured precision.</p>
+ */
+@Slf4j
+@Component
+public class V2__BackfillUserLocationGeohash extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final int precision;
+
+    public V2__BackfillUserLocationGeohash(ApplicationProperties applicationProperties) {
+        this.precision = applicationProperties.getLocation().getGrid().getPrecision();
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (!tableExists(connection)) {
+            return;
+        }
+
+        int updated = 0;
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE user_locations SET geohash = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery(
+                    "SELECT id, latitude, longitude FROM user_locations WHERE geohash IS NULL")) {
+                while (rows.next()) {
+                    update.setString(1, Geohash.encode(rows.getDouble("latitude"), rows.getDouble("longitude"), precision));
+                    update.setObject(2, rows.getObject("id"));
+                    update.addBatch();
+                    if (++updated % BATCH_SIZE == 0) {
+                        update.executeBatch();
+                    }
+                }
+            }
+            update.executeBatch();
+        }
+        log.info("Backfilled geohash of {} user locations at precision {}", updated, precision);
+    }
+
+    private static boolean tableExists(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT to_regclass('user_locations') IS NOT NULL")) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+}
@@ -7,14 +7,16 @@ import com.hackathon.safenet.infrastructure.adapters.supabase.entity.FriendshipE
 import com.hackathon.safenet.infrastructure.adapters.supabase.entity.UserEntity;
 import com.hackathon.safenet.infrastructure.adapters.supabase.mapper.EntityMapper;
 import com.hackathon.safenet.infrastructure.adapters.supabase.repository.FriendshipJpaRepository;
+import com.hackathon.safenet.infrastructure.adapters.supabase.repository.UserJpaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -23,6 +25,7 @@ import java.util.UUID;
 public class FriendshipJpaAdapter implements FriendshipRepositoryPort {
 
     private final FriendshipJpaRepository jpaRepository;
+    private final UserJpaRepository userJpaRepository;
     private final EntityMapper<Friendship, FriendshipEntity> friendshipMapper;
     private final EntityMapper<User, UserEntity> userMapper;
 
@@ -45,11 +48,13 @@ public class FriendshipJpaAdapter implements FriendshipRepositoryPort {
     @Override
     public List<User> findFriendsByUserId(UUID userId) {
         log.debug("Finding friends by user id: {}", userId);
-        return jpaRepository.findAllByUserId(userId).stream()
-                .map(friendship -> friendship.getOtherUser(userId))
-                .filter(Objects::nonNull)
-                .map(userMapper::toDomain)
-                .toList();
+        return findUsers(jpaRepository.findFriendIdsByUserId(userId));
+    }
+
+    @Override
+    public List<UUID> findFriendIdsByUserId(UUID userId) {
+        log.debug("Finding friend ids by user id: {}", userId);
+        return jpaRepository.findFriendIdsByUserId(userId);
     }
 
     @Override
@@ -91,13 +96,21 @@ public class FriendshipJpaAdapter implements FriendshipRepositoryPort {
     public List<User> findMutualFriends(UUID user1Id, UUID user2Id) {
         log.debug("Finding mutual friends between users: {} and {}", user1Id, user2Id);
 
-        // Get friends of both users
-        List<User> user1Friends = findFriendsByUserId(user1Id);
-        List<User> user2Friends = findFriendsByUserId(user2Id);
+        // Intersect the friend IDs and only load the users in common
+        Set<UUID> user1FriendIds = new HashSet<>(jpaRepository.findFriendIdsByUserId(user1Id));
+        List<UUID> mutualIds = jpaRepository.findFriendIdsByUserId(user2Id).stream()
+                .filter(user1FriendIds::contains)
+                .toList();
 
-        // Find intersection (mutual friends)
-        return user1Friends.stream()
-                .filter(user2Friends::contains)
+        return findUsers(mutualIds);
+    }
+
+    private List<User> findUsers(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return userJpaRepository.findAllById(ids).stream()
+                .map(userMapper::toDomain)
                 .toList();
     }
 }
\ No newline at end of file
@@ -1,20 +1,39 @@
 package com.hackathon.safenet.infrastructure.adapters.supabase.persistence;
 
+import com.hackathon.safenet.application.util.geo.Envelope;
+import com.hackathon.safenet.application.util.geo.Geohash;
 import com.hackathon.safenet.domain.model.UserLocation;
 import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
 import com.hackathon.safenet.infrastructure.adapters.supabase.entity.UserLocationEntity;
 import com.hackathon.safenet.infrastructure.adapters.supabase.mapper.EntityMapper;
 import com.hackathon.safenet.infrastructure.adapters.supabase.repository.UserLocationJpaRepository;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Location;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 
+/**
+ * JPA implementation of the location repository.
+ *
+ * <p>With write-behind enabled, a saved location reaches the table only with
+ * the next flush. Reads therefore look at the write-behind buffer first and
+ * let a buffered location replace the user's row, so that a visibility change
+ * is seen by the next ping even before it has been written.</p>
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -22,11 +41,32 @@ public class UserLocationJpaAdapter implements UserLocationRepositoryPort {
 
     private final UserLocationJpaRepository jpaRepository;
     private final EntityMapper<UserLocation, UserLocationEntity> userLocationMapper;
+    private final UserLocationWriteBehindBuffer writeBehindBuffer;
+    private final ApplicationProperties applicationProperties;
 
+    /**
+     * Saves a location. With write-behind enabled the location is buffered and
+     * upserted in the next batch; the returned location already carries the ID
+     * of the user's row.
+     */
     @Override
     public UserLocation save(UserLocation userLocation) {
         log.debug("Saving user location: userId={}", userLocation.userId());
+        if (applicationProperties.getLocation().getWriteBehind().isEnabled()) {
+            UserLocation withId = userLocation.id() != null ? userLocation : new UserLocation(
+                    rowIdOf(userLocation.userId()), userLocation.userId(), userLocation.latitude(),
+                    userLocation.longitude(), userLocation.altitude(), userLocation.accuracy(),
+                    userLocation.visibleToFriends(), userLocation.createdAt(), userLocation.updatedAt());
+            writeBehindBuffer.enqueue(withId);
+            return withId;
+        }
+
         UserLocationEntity entity = userLocationMapper.toEntity(userLocation);
+        if (entity.getId() == null) {
+            // Each user has a single location row; reuse it instead of inserting a duplicate
+            jpaRepository.findByUserId(userLocation.userId())
+                    .ifPresent(existing -> entity.setId(existing.getId()));
+        }
         UserLocationEntity saved = jpaRepository.save(entity);
         return userLocationMapper.toDomain(saved);
     }
@@ -34,20 +74,30 @@ public class UserLocationJpaAdapter implements UserLocationRepositoryPort {
     @Override
     public Optional<UserLocation> findById(UUID id) {
         log.debug("Finding user location by id: {}", id);
-        return jpaRepository.findById(id)
-                .map(userLocationMapper::toDomain);
+        Optional<UserLocation> stored = jpaRepository.findById(id).map(userLocationMapper::toDomain);
+        if (stored.isPresent()) {
+            return stored.map(this::withBuffered);
+        }
+        // A user's first location is not in the table until it has been flushed
+        return writeBehindBuffer.findAll().stream()
+                .filter(location -> id.equals(location.id()))
+                .findFirst();
     }
 
     @Override
     public Optional<UserLocation> findLatestByUserId(UUID userId) {
         log.debug("Finding latest location for user: {}", userId);
-        return jpaRepository.findByUserId(userId)
-                .map(userLocationMapper::toDomain);
+        return writeBehindBuffer.find(userId)
+                .or(() -> jpaRepository.findByUserId(userId).map(userLocationMapper::toDomain));
     }
 
     @Override
     public Optional<UserLocation> findLatestVisibleByUserId(UUID userId) {
         log.debug("Finding latest visible location for user: {}", userId);
+        Optional<UserLocation> buffered = writeBehindBuffer.find(userId);
+        if (buffered.isPresent()) {
+            return buffered.filter(UserLocation::visibleToFriends);
+        }
         return jpaRepository.findVisibleByUserId(userId)
                 .map(userLocationMapper::toDomain);
     }
@@ -55,46 +105,65 @@ public class UserLocationJpaAdapter implements UserLocationRepositoryPort {
     @Override
     public List<UserLocation> findLatestVisibleLocationsByUserIds(List<UUID> userIds) {
         log.debug("Finding latest visible locations for {} users", userIds.size());
-        return jpaRepository.findVisibleLocationsByUserIds(userIds).stream()
-                .map(userLocationMapper::toDomain)
-                .toList();
+        Set<UUID> requested = new HashSet<>(userIds);
+        return withBuffered(jpaRepository.findVisibleLocationsByUserIds(userIds),
+                location -> location.visibleToFriends() && requested.contains(location.userId()));
     }
 
+    /**
+     * Finds visible locations in a bounding box. Boxes covered by at most
+     * {@code max-query-cells} geohash cells are looked up through the geohash
+     * index; larger boxes fall back to a coordinate scan.
+     */
     @Override
-    public List<UserLocation> findWithinBounds(BigDecimal minLat, BigDecimal maxLat, 
-                                              BigDecimal minLon, BigDecimal maxLon) {
+    public List<UserLocation> findWithinBounds(double minLat, double maxLat,
+                                              double minLon, double maxLon) {
         log.debug("Finding locations within bounds: lat[{}, {}], lon[{}, {}]", 
                 minLat, maxLat, minLon, maxLon);
-        return jpaRepository.findWithinBounds(minLat, maxLat, minLon, maxLon).stream()
-                .map(userLocationMapper::toDomain)
-                .toList();
+        Location.Grid grid = applicationProperties.getLocation().getGrid();
+        Envelope bounds = new Envelope(minLon, minLat, maxLon, maxLat);
+        List<UserLocationEntity> entities = Geohash.cover(bounds, grid.getPrecision(), grid.getMaxQueryCells())
+                .map(cells -> jpaRepository.findWithinCells(cells, BigDecimal.valueOf(minLat),
+                        BigDecimal.valueOf(maxLat), BigDecimal.valueOf(minLon), BigDecimal.valueOf(maxLon)))
+                .orElseGet(() -> jpaRepository.findWithinBounds(BigDecimal.valueOf(minLat),
+                        BigDecimal.valueOf(maxLat), BigDecimal.valueOf(minLon), BigDecimal.valueOf(maxLon)));
+        return withBuffered(entities, location -> location.visibleToFriends()
+                && location.latitude() >= minLat && location.latitude() <= maxLat
+                && location.longitude() >= minLon && location.longitude() <= maxLon);
     }
 
     @Override
     public List<UserLocation> findRecentLocations(Instant since) {
         log.debug("Finding recent locations since: {}", since);
-        return jpaRepository.findRecentLocations(since).stream()
-                .map(userLocationMapper::toDomain)
+        return withBuffered(jpaRepository.findRecentLocations(since), location -> location.updatedAt().isAfter(since))
+                .stream()
+                .sorted(Comparator.comparing(UserLocation::updatedAt).reversed())
                 .toList();
     }
 
     @Override
     public List<UserLocation> findStaleLocations(Instant before) {
         log.debug("Finding stale locations before: {}", before);
-        return jpaRepository.findStaleLocations(before).stream()
-                .map(userLocationMapper::toDomain)
+        return withBuffered(jpaRepository.findStaleLocations(before), location -> location.updatedAt().isBefore(before))
+                .stream()
+                .sorted(Comparator.comparing(UserLocation::updatedAt))
                 .toList();
     }
 
     @Override
     public boolean hasRecentLocation(UUID userId, Instant since) {
         log.debug("Checking if user has recent location since: {}", since);
+        Optional<UserLocation> buffered = writeBehindBuffer.find(userId);
+        if (buffered.isPresent()) {
+            return buffered.get().updatedAt().isAfter(since);
+        }
         return jpaRepository.hasRecentLocation(userId, since);
     }
 
     @Override
     public void deleteByUserId(UUID userId) {
         log.debug("Deleting all locations for user: {}", userId);
+        writeBehindBuffer.discard(userId);
         jpaRepository.deleteByUserId(userId);
     }
 
@@ -103,4 +172,46 @@ public class UserLocationJpaAdapter implements UserLocationRepositoryPort {
         log.debug("Deleting old locations before: {}", before);
         jpaRepository.deleteOldLocations(before);
     }
+
+    private UserLocation withBuffered(UserLocation stored) {
+        return writeBehindBuffer.find(stored.userId()).orElse(stored);
+    }
+
+    /**
+     * Replaces the rows of users with a buffered location by that location if
+     * it matches the query, and adds buffered locations of users without a row.
+     *
+     * @param matches the query condition, applied to buffered locations
+     */
+    private List<UserLocation> withBuffered(List<UserLocationEntity> stored, Predicate<UserLocation> matches) {
+        Collection<UserLocation> buffered = writeBehindBuffer.findAll();
+        if (buffered.isEmpty()) {
+            return stored.stream().map(userLocationMapper::toDomain).toList();
+        }
+
+        Set<UUID> bufferedUsers = new HashSet<>(buffered.size() * 2);
+        List<UserLocation> result = new ArrayList<>(stored.size());
+        for (UserLocation location : buffered) {
+            bufferedUsers.add(location.userId());
+            if (matches.test(location)) {
+                result.add(location);
+            }
+        }
+        for (UserLocationEntity entity : stored) {
+            if (!bufferedUsers.contains(entity.getUser().getId())) {
+                result.add(userLocationMapper.toDomain(entity));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The upsert keeps the ID of an existing row, so that ID is reused. A new
+     * row gets an ID derived from the user ID, which stays the same if another
+     * instance inserts the row first.
+     */
+    private UUID rowIdOf(UUID userId) {
+        return jpaRepository.findIdByUserId(userId)
+                .orElseGet(() -> UUID.nameUUIDFromBytes(("user_locations:" + userId).getBytes(StandardCharsets.UTF_8)));
+    }
 }
\ No newline at end of file
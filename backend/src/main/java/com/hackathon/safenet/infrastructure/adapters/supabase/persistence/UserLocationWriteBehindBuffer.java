@@ -0,0 +1,311 @@
+package com.hackathon.safenet.infrastructure.adapters.supabase.persistence;
+
+import com.hackathon.safenet.application.config.SchedulingConfig;
+import com.hackathon.safenet.application.util.geo.Geohash;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import com.hackathon.safenet.infrastructure.properties.Location;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for location pings.
+ *
+ * <p>Pings are buffered per user and only the newest one per user survives until
+ * the next flush. A flush drains the buffer in batches of
+ * {@code max-batch-size} rows and writes each batch as a single JDBC batch of
+ * {@code INSERT ... ON CONFLICT (user_id) DO UPDATE} statements, which the
+ * Postgres driver rewrites into one multi-row upsert.</p>
+ *
+ * <h3>Guarantees</h3>
+ * <ul>
+ *   <li>An older ping never overwrites a newer row, even if two flushes overlap</li>
+ *   <li>Batches that fail for transient reasons are put back and retried on the next flush</li>
+ *   <li>Rows rejected by a constraint are dropped without holding back the rest of their batch</li>
+ *   <li>The buffer is drained on shutdown when {@code drain-on-shutdown} is set</li>
+ *   <li>A location is readable through {@link #find} from the moment it is buffered until
+ *       its batch has been written, so reads never fall back to an older row</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class UserLocationWriteBehindBuffer {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO user_locations
+                (id, user_id, latitude, longitude, altitude, accuracy, geohash, visible_to_friends, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id) DO UPDATE SET
+                latitude = EXCLUDED.latitude,
+                longitude = EXCLUDED.longitude,
+                altitude = EXCLUDED.altitude,
+                accuracy = EXCLUDED.accuracy,
+                geohash = EXCLUDED.geohash,
+                visible_to_friends = EXCLUDED.visible_to_friends,
+                updated_at = EXCLUDED.updated_at
+            WHERE user_locations.updated_at <= EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Location.WriteBehind settings;
+    private final int gridPrecision;
+
+    private final Map<UUID, UserLocation> pending = new ConcurrentHashMap<>();
+    // Taken from pending by a flush and not yet written
+    private final Map<UUID, UserLocation> writing = new ConcurrentHashMap<>();
+    private final Object spaceAvailable = new Object();
+
+    private final Counter flushedCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+
+    public UserLocationWriteBehindBuffer(JdbcTemplate jdbcTemplate,
+                                         ApplicationProperties applicationProperties,
+                                         MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = applicationProperties.getLocation().getWriteBehind();
+        this.gridPrecision = applicationProperties.getLocation().getGrid().getPrecision();
+
+        Gauge.builder("safenet.location.writebehind.pending", pending, Map::size)
+                .description("Users with a location waiting to be written")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("safenet.location.writebehind.flushed")
+                .description("Location rows written by the write-behind buffer")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("safenet.location.writebehind.dropped")
+                .description("Location pings discarded because the buffer was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("safenet.location.writebehind.failed")
+                .description("Location rows whose batch failed and was retried")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("safenet.location.writebehind.batch")
+                .description("Duration of one batched upsert")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers a location, replacing any older pending location of the same user.
+     *
+     * @param location the location to persist; its ID must already be assigned
+     * @throws IllegalStateException if the buffer stays full and backpressure is {@code BLOCK}
+     */
+    public void enqueue(UserLocation location) {
+        if (!pending.containsKey(location.userId()) && pending.size() >= settings.getMaxPending()) {
+            if (!applyBackpressure()) {
+                droppedCounter.increment();
+                log.warn("Location write buffer full, dropping ping of user {}", location.userId());
+                return;
+            }
+        }
+
+        pending.merge(location.userId(), location, UserLocationWriteBehindBuffer::newer);
+    }
+
+    /**
+     * Forgets the pending location of a user whose locations are being deleted.
+     */
+    public void discard(UUID userId) {
+        pending.remove(userId);
+        writing.remove(userId);
+    }
+
+    /**
+     * @return the newest location of the user that may not have reached the table yet
+     */
+    public Optional<UserLocation> find(UUID userId) {
+        UserLocation buffered = pending.get(userId);
+        UserLocation inFlight = writing.get(userId);
+        if (buffered == null || inFlight == null) {
+            return Optional.ofNullable(buffered != null ? buffered : inFlight);
+        }
+        return Optional.of(newer(inFlight, buffered));
+    }
+
+    /**
+     * @return the newest location of every user that may not have reached the table yet
+     */
+    public Collection<UserLocation> findAll() {
+        Map<UUID, UserLocation> unwritten = new HashMap<>(writing);
+        pending.forEach((userId, location) -> unwritten.merge(userId, location, UserLocationWriteBehindBuffer::newer));
+        return unwritten.values();
+    }
+
+    /**
+     * Flushes everything that is currently buffered.
+     */
+    @Scheduled(fixedDelayString = "${safenet.location.write-behind.flush-interval:1s}",
+            scheduler = SchedulingConfig.TASK_SCHEDULER)
+    public void flush() {
+        while (!pending.isEmpty()) {
+            if (flushBatch() == 0) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        if (!settings.isDrainOnShutdown()) {
+            log.warn("Discarding {} buffered locations on shutdown", pending.size());
+            return;
+        }
+
+        long deadline = System.nanoTime() + settings.getShutdownTimeout().toNanos();
+        while (!pending.isEmpty() && System.nanoTime() < deadline) {
+            flushBatch();
+        }
+
+        if (!pending.isEmpty()) {
+            log.error("Shutdown timeout reached with {} locations still buffered", pending.size());
+        }
+    }
+
+    private boolean applyBackpressure() {
+        return switch (settings.getBackpressure()) {
+            case DROP -> false;
+            case CALLER_RUNS -> {
+                flushBatch();
+                yield true;
+            }
+            case BLOCK -> {
+                awaitSpace();
+                yield true;
+            }
+        };
+    }
+
+    private void awaitSpace() {
+        long deadline = System.nanoTime() + settings.getOfferTimeout().toNanos();
+        synchronized (spaceAvailable) {
+            while (pending.size() >= settings.getMaxPending()) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new IllegalStateException("Location write buffer is full");
+                }
+                try {
+                    spaceAvailable.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for location write buffer", e);
+                }
+            }
+        }
+    }
+
+    private int flushBatch() {
+        List<UserLocation> batch = takeBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            return writeBatch(batch);
+        } finally {
+            // Written, dropped or back in pending; a newer location taken meanwhile stays
+            batch.forEach(location -> writing.remove(location.userId(), location));
+        }
+    }
+
+    private int writeBatch(List<UserLocation> batch) {
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch, batch.size(), this::bind));
+            flushedCounter.increment(batch.size());
+            log.debug("Upserted {} locations", batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // A single bad row (e.g. the user was deleted meanwhile) must not block the rest
+            log.warn("Batch upsert of {} locations rejected, retrying row by row: {}", batch.size(), e.getMessage());
+            batch.forEach(this::upsertSingle);
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to upsert {} locations, retrying on next flush: {}", batch.size(), e.getMessage());
+            batch.forEach(location ->
+                    pending.merge(location.userId(), location, UserLocationWriteBehindBuffer::newer));
+            return 0;
+        } finally {
+            synchronized (spaceAvailable) {
+                spaceAvailable.notifyAll();
+            }
+        }
+
+        return batch.size();
+    }
+
+    private void upsertSingle(UserLocation location) {
+        try {
+            jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, location));
+            flushedCounter.increment();
+        } catch (DataIntegrityViolationException e) {
+            droppedCounter.increment();
+            log.error("Dropping location of user {}: {}", location.userId(), e.getMessage());
+        } catch (Exception e) {
+            failedCounter.increment();
+            pending.merge(location.userId(), location, UserLocationWriteBehindBuffer::newer);
+        }
+    }
+
+    private List<UserLocation> takeBatch() {
+        List<UserLocation> batch = new ArrayList<>(Math.min(settings.getMaxBatchSize(), pending.size()));
+        Iterator<UUID> userIds = pending.keySet().iterator();
+        while (userIds.hasNext() && batch.size() < settings.getMaxBatchSize()) {
+            UUID userId = userIds.next();
+            // Published as being written before it leaves pending, so readers always see it
+            UserLocation location = pending.get(userId);
+            if (location != null) {
+                writing.put(userId, location);
+                if (pending.remove(userId, location)) {
+                    batch.add(location);
+                } else {
+                    writing.remove(userId, location);
+                }
+            }
+        }
+        return batch;
+    }
+
+    private void bind(PreparedStatement ps, UserLocation location) throws SQLException {
+        ps.setObject(1, location.id());
+        ps.setObject(2, location.userId());
+        // Bound as float8; Postgres rounds to the NUMERIC column scale on assignment
+        ps.setDouble(3, location.latitude());
+        ps.setDouble(4, location.longitude());
+        ps.setObject(5, location.altitude(), Types.DOUBLE);
+        ps.setObject(6, location.accuracy(), Types.DOUBLE);
+        ps.setString(7, Geohash.encode(location.latitude(), location.longitude(), gridPrecision));
+        ps.setBoolean(8, location.visibleToFriends());
+        ps.setObject(9, toTimestamp(location.createdAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+        ps.setObject(10, toTimestamp(location.updatedAt()), Types.TIMESTAMP_WITH_TIMEZONE);
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return OffsetDateTime.ofInstant(instant != null ? instant : Instant.now(), ZoneOffset.UTC);
+    }
+
+    private static UserLocation newer(UserLocation current, UserLocation candidate) {
+        return candidate.updatedAt().isBefore(current.updatedAt()) ? current : candidate;
+    }
+}
@@ -31,6 +31,18 @@ public interface FriendshipJpaRepository extends JpaRepository<FriendshipEntity,
     @Query("SELECT f FROM FriendshipEntity f WHERE f.user1.id = :userId OR f.user2.id = :userId")
     List<FriendshipEntity> findAllByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Find the IDs of all friends of a specific user without loading any entity.
+     * Each side of the union is served by its own index.
+     *
+     * @param userId the user ID to find friends for
+     * @return friend IDs
+     */
+    @Query("SELECT f.user2.id FROM FriendshipEntity f WHERE f.user1.id = :userId " +
+            "UNION " +
+            "SELECT f.user1.id FROM FriendshipEntity f WHERE f.user2.id = :userId")
+    List<UUID> findFriendIdsByUserId(@Param("userId") UUID userId);
+
     /**
      * Check if two users are friends
      *
@@ -61,7 +73,8 @@ public interface FriendshipJpaRepository extends JpaRepository<FriendshipEntity,
      * @param userId the user ID
      * @return number of friends
      */
-    @Query("SELECT COUNT(f) FROM FriendshipEntity f WHERE f.user1.id = :userId OR f.user2.id = :userId")
+    @Query(value = "SELECT (SELECT COUNT(*) FROM friendships WHERE user1_id = :userId) + " +
+            "(SELECT COUNT(*) FROM friendships WHERE user2_id = :userId)", nativeQuery = true)
     long countFriendsByUserId(@Param("userId") UUID userId);
 
     /**
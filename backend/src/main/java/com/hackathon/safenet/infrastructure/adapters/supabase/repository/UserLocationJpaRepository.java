@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,6 +34,15 @@ public interface UserLocationJpaRepository extends JpaRepository<UserLocationEnt
     @Query("SELECT ul FROM UserLocationEntity ul WHERE ul.user.id = :userId ORDER BY ul.updatedAt DESC LIMIT 1")
     Optional<UserLocationEntity> findByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Find the ID of a user's location row
+     *
+     * @param userId the user ID
+     * @return optional location ID
+     */
+    @Query("SELECT ul.id FROM UserLocationEntity ul WHERE ul.user.id = :userId")
+    Optional<UUID> findIdByUserId(@Param("userId") UUID userId);
+
     /**
      * Find latest visible location by user ID
      *
@@ -70,6 +80,29 @@ public interface UserLocationJpaRepository extends JpaRepository<UserLocationEnt
             @Param("minLon") BigDecimal minLon,
             @Param("maxLon") BigDecimal maxLon);
 
+    /**
+     * Find locations within a bounding box, restricted to the given geohash cells
+     * so that the geohash index narrows the rows before the coordinate check
+     *
+     * @param cells  geohash cells covering the bounding box
+     * @param minLat minimum latitude
+     * @param maxLat maximum latitude
+     * @param minLon minimum longitude
+     * @param maxLon maximum longitude
+     * @return list of locations within the bounding box
+     */
+    @Query("SELECT ul FROM UserLocationEntity ul WHERE " +
+            "ul.geohash IN :cells AND " +
+            "ul.latitude BETWEEN :minLat AND :maxLat AND " +
+            "ul.longitude BETWEEN :minLon AND :maxLon AND " +
+            "ul.visibleToFriends = true")
+    List<UserLocationEntity> findWithinCells(
+            @Param("cells") Collection<String> cells,
+            @Param("minLat") BigDecimal minLat,
+            @Param("maxLat") BigDecimal maxLat,
+            @Param("minLon") BigDecimal minLon,
+            @Param("maxLon") BigDecimal maxLon);
+
     /**
      * Find recent locations (updated after specified time)
      *
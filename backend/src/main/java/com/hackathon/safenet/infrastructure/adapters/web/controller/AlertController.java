@@ -0,0 +1,69 @@
+package com.hackathon.safenet.infrastructure.adapters.web.controller;
+
+import com.hackathon.safenet.application.util.geo.Envelope;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.ports.inbound.AlertPort;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+@Tag(name = "Alerts", description = "Warnings from all feed sources (DWD, MeteoAlarm, GDACS)")
+public class AlertController {
+
+    private final AlertPort alertPort;
+
+    @Operation(
+        summary = "Get current warnings",
+        description = "Returns the merged warnings of all feed sources from the in-memory snapshot. "
+                + "Warnings reported by several sources are included once."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved warnings"),
+        @ApiResponse(responseCode = "400", description = "Invalid bounding box")
+    })
+    @GetMapping
+    public ResponseEntity<List<Alert>> getAlerts(
+            @Parameter(description = "Only warnings of this source, e.g. dwd or meteoalarm-germany")
+            @RequestParam(required = false) String source,
+            @Parameter(description = "Only warnings in the map section minLon,minLat,maxLon,maxLat")
+            @RequestParam(required = false) String bbox) {
+        List<Alert> alerts;
+        if (bbox != null) {
+            Envelope box = Envelope.parse(bbox);
+            alerts = alertPort.findAlertsWithin(box.minY(), box.minX(), box.maxY(), box.maxX());
+        } else {
+            alerts = alertPort.getAlerts();
+        }
+        if (source != null) {
+            alerts = alerts.stream().filter(alert -> source.equals(alert.getSource())).toList();
+        }
+        return ResponseEntity.ok(alerts);
+    }
+
+    @Operation(
+        summary = "Get warnings at a position",
+        description = "Returns the warnings whose area contains the given position"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved warnings")
+    })
+    @GetMapping("/at")
+    public ResponseEntity<List<Alert>> getAlertsAt(
+            @Parameter(description = "Latitude in degrees") @RequestParam double lat,
+            @Parameter(description = "Longitude in degrees") @RequestParam double lon) {
+        return ResponseEntity.ok(alertPort.findAlertsAt(lat, lon));
+    }
+}
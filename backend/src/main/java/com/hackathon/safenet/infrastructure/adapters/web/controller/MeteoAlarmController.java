@@ -24,7 +24,7 @@ public class MeteoAlarmController {
 
     @Operation(
         summary = "Get weather alerts in English",
-        description = "Fetches current weather alerts from MeteoAlarm Germany RSS feed and returns them in JSON format with English descriptions"
+        description = "Returns the latest polled weather alerts from the MeteoAlarm Germany RSS feed in JSON format with English descriptions"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved weather alerts"),
@@ -44,7 +44,7 @@ public class MeteoAlarmController {
 
     @Operation(
         summary = "Get weather alerts in German", 
-        description = "Fetches current weather alerts from MeteoAlarm Germany RSS feed and returns them in JSON format with German descriptions"
+        description = "Returns the latest polled weather alerts from the MeteoAlarm Germany RSS feed in JSON format with German descriptions"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved weather alerts"),
@@ -10,8 +10,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 /**
  * Data Transfer Object for updating user location.
  */
@@ -36,7 +34,7 @@ public class UpdateLocationDto {
             minimum = "-90",
             maximum = "90"
     )
-    private BigDecimal latitude;
+    private Double latitude;
 
     @JsonProperty("longitude")
     @NotNull(message = "Longitude is required")
@@ -49,14 +47,14 @@ public class UpdateLocationDto {
             minimum = "-180",
             maximum = "180"
     )
-    private BigDecimal longitude;
+    private Double longitude;
 
     @JsonProperty("altitude")
     @Schema(
             description = "Altitude in meters (optional)",
             example = "100.5"
     )
-    private BigDecimal altitude;
+    private Double altitude;
 
     @JsonProperty("accuracy")
     @DecimalMin(value = "0.0", message = "Accuracy must be non-negative")
@@ -65,7 +63,7 @@ public class UpdateLocationDto {
             example = "5.0",
             minimum = "0"
     )
-    private BigDecimal accuracy;
+    private Double accuracy;
 
     @JsonProperty("visibleToFriends")
     @Schema(
@@ -6,7 +6,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -31,19 +30,19 @@ public class UserLocationDto {
 
     @JsonProperty("latitude")
     @Schema(description = "Latitude coordinate in decimal degrees", example = "40.712776", minimum = "-90", maximum = "90")
-    private BigDecimal latitude;
+    private Double latitude;
 
     @JsonProperty("longitude")
     @Schema(description = "Longitude coordinate in decimal degrees", example = "-74.005974", minimum = "-180", maximum = "180")
-    private BigDecimal longitude;
+    private Double longitude;
 
     @JsonProperty("altitude")
     @Schema(description = "Altitude in meters above sea level", example = "10.5", nullable = true)
-    private BigDecimal altitude;
+    private Double altitude;
 
     @JsonProperty("accuracy")
     @Schema(description = "Location accuracy in meters", example = "5.0", nullable = true)
-    private BigDecimal accuracy;
+    private Double accuracy;
 
     @JsonProperty("visibleToFriends")
     @Schema(description = "Whether the location is visible to friends", example = "true")
@@ -0,0 +1,40 @@
+package com.hackathon.safenet.infrastructure.adapters.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for registering a map viewport.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Bounding box of the map a client is showing")
+public class ViewportDto {
+
+    @JsonProperty("minLatitude")
+    @NotNull(message = "Minimum latitude is required")
+    @Schema(description = "Southern edge in degrees", example = "52.40")
+    private Double minLatitude;
+
+    @JsonProperty("minLongitude")
+    @NotNull(message = "Minimum longitude is required")
+    @Schema(description = "Western edge in degrees", example = "13.20")
+    private Double minLongitude;
+
+    @JsonProperty("maxLatitude")
+    @NotNull(message = "Maximum latitude is required")
+    @Schema(description = "Northern edge in degrees", example = "52.60")
+    private Double maxLatitude;
+
+    @JsonProperty("maxLongitude")
+    @NotNull(message = "Maximum longitude is required")
+    @Schema(description = "Eastern edge in degrees", example = "13.60")
+    private Double maxLongitude;
+}
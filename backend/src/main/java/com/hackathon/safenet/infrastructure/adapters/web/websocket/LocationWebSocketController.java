@@ -29,6 +29,10 @@ public class LocationWebSocketController {
                                Principal principal) {
         UUID userId = UUID.fromString(principal.getName());
         try {
+            if (locationUpdate.getLatitude() == null || locationUpdate.getLongitude() == null) {
+                throw new IllegalArgumentException("Latitude and longitude are required");
+            }
+
             updateUserLocationPort.updateLocation(
                     userId,
                     locationUpdate.getLatitude(),
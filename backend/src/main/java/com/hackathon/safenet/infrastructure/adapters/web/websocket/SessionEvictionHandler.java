@@ -0,0 +1,75 @@
+package com.hackathon.safenet.infrastructure.adapters.web.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts open WebSocket sessions and sessions closed by the server.
+ *
+ * <p>Spring closes a session with {@link CloseStatus#SESSION_NOT_RELIABLE}
+ * when a send exceeds the transport's time or buffer limit, i.e. a slow
+ * consumer, and when a connection sends no STOMP CONNECT within the time to
+ * first message. The two cases are told apart by whether the client has sent
+ * anything and are counted as {@code safenet.websocket.sessions.evicted} with
+ * the reasons {@code slow_consumer} and {@code no_connect}.</p>
+ */
+@Slf4j
+public class SessionEvictionHandler extends WebSocketHandlerDecorator {
+
+    private static final String RECEIVED_ATTRIBUTE = SessionEvictionHandler.class.getName() + ".received";
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final Counter slowConsumers;
+    private final Counter noConnect;
+
+    public SessionEvictionHandler(WebSocketHandler delegate, MeterRegistry meterRegistry) {
+        super(delegate);
+        Gauge.builder("safenet.websocket.sessions", openSessions, AtomicInteger::get)
+                .description("Open WebSocket sessions")
+                .register(meterRegistry);
+        this.slowConsumers = Counter.builder("safenet.websocket.sessions.evicted")
+                .description("WebSocket sessions closed by the server")
+                .tag("reason", "slow_consumer")
+                .register(meterRegistry);
+        this.noConnect = Counter.builder("safenet.websocket.sessions.evicted")
+                .description("WebSocket sessions closed by the server")
+                .tag("reason", "no_connect")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        openSessions.incrementAndGet();
+        super.afterConnectionEstablished(session);
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+        session.getAttributes().putIfAbsent(RECEIVED_ATTRIBUTE, Boolean.TRUE);
+        super.handleMessage(session, message);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        openSessions.decrementAndGet();
+        if (closeStatus.equalsCode(CloseStatus.SESSION_NOT_RELIABLE)) {
+            if (session.getAttributes().containsKey(RECEIVED_ATTRIBUTE)) {
+                slowConsumers.increment();
+                log.warn("Evicted slow WebSocket session {} of {}", session.getId(), session.getPrincipal());
+            } else {
+                noConnect.increment();
+                log.debug("Closed WebSocket session {} without CONNECT", session.getId());
+            }
+        }
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
@@ -0,0 +1,80 @@
+package com.hackathon.safenet.infrastructure.adapters.web.websocket;
+
+import com.hackathon.safenet.domain.ports.inbound.LocationViewportPort;
+import com.hackathon.safenet.infrastructure.adapters.web.dto.ViewportDto;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * WebSocket controller for map viewports.
+ *
+ * <p>Sending a bounding box to {@code /app/viewport} registers or moves the
+ * viewport of the user. The friend locations inside it arrive once as a
+ * {@code LOCATION_VIEWPORT_SNAPSHOT} on {@code /user/queue/notifications},
+ * followed by a {@code LOCATION_UPDATE} for every change inside the box.
+ * The viewport belongs to the session that sent it and is removed on
+ * {@code /app/viewport/clear} or when that session disconnects. Open
+ * sessions are tracked so that other sessions of the user without a
+ * viewport keep receiving every friend location.</p>
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+@Hidden
+public class ViewportWebSocketController {
+
+    private final LocationViewportPort locationViewportPort;
+
+    @MessageMapping("/viewport")
+    public void updateViewport(@Payload ViewportDto viewport,
+                               SimpMessageHeaderAccessor headerAccessor,
+                               Principal principal) {
+        UUID userId = UUID.fromString(principal.getName());
+        try {
+            if (viewport.getMinLatitude() == null || viewport.getMinLongitude() == null
+                    || viewport.getMaxLatitude() == null || viewport.getMaxLongitude() == null) {
+                throw new IllegalArgumentException("All viewport bounds are required");
+            }
+
+            locationViewportPort.subscribe(userId, headerAccessor.getSessionId(),
+                    viewport.getMinLatitude(), viewport.getMinLongitude(),
+                    viewport.getMaxLatitude(), viewport.getMaxLongitude());
+        } catch (Exception e) {
+            log.error("Failed to register viewport for user {}: {}", userId, e.getMessage(), e);
+        }
+    }
+
+    @MessageMapping("/viewport/clear")
+    public void clearViewport(SimpMessageHeaderAccessor headerAccessor, Principal principal) {
+        locationViewportPort.unsubscribe(UUID.fromString(principal.getName()), headerAccessor.getSessionId());
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        Principal principal = event.getUser();
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (principal != null && sessionId != null) {
+            locationViewportPort.sessionOpened(UUID.fromString(principal.getName()), sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Principal principal = event.getUser();
+        if (principal != null) {
+            locationViewportPort.sessionClosed(UUID.fromString(principal.getName()), event.getSessionId());
+        }
+    }
+}
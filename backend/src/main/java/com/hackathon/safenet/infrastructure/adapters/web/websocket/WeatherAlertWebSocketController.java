@@ -0,0 +1,47 @@
+package com.hackathon.safenet.infrastructure.adapters.web.websocket;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.domain.model.NotificationPayload;
+import com.hackathon.safenet.domain.ports.inbound.MeteoAlarmPort;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * WebSocket controller for weather alert snapshots.
+ *
+ * <p>Subscribing to {@code /app/alerts/{region}} returns the current alerts of
+ * that region once, in the same frame format as the updates broadcast on
+ * {@code /topic/alerts/{region}}. The optional {@code language} header selects
+ * {@code english} (default) or {@code german}.</p>
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+@Hidden
+public class WeatherAlertWebSocketController {
+
+    private final MeteoAlarmPort meteoAlarmPort;
+
+    @SubscribeMapping("/alerts/{region}")
+    public NotificationPayload subscribeAlerts(@DestinationVariable String region,
+                                               @Header(name = "language", required = false) String language,
+                                               Principal principal) {
+        String lang = "german".equals(language) ? "german" : "english";
+        log.debug("Sending {} weather alert snapshot of {} to user {}", lang, region, principal.getName());
+
+        return NotificationPayload.from(NotificationMessage.create(
+                NotificationType.WEATHER_ALERT_SNAPSHOT, null, principal.getName(), Map.of(
+                        "language", lang,
+                        "region", region,
+                        "alerts", meteoAlarmPort.getRegionAlerts(lang, region))));
+    }
+}
@@ -0,0 +1,68 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for warning ingestion from all feed sources.
+ * MeteoAlarm feeds are configured under {@link MeteoAlarm}.
+ */
+@Data
+public class Alerts {
+
+    private boolean pollingEnabled = true;
+
+    // Delay before retrying a source after a failed poll
+    @NotNull
+    private Duration retryInterval = Duration.ofSeconds(15);
+
+    // GeoJSON features with a name and optional aliases, used to locate alert regions
+    @NotNull
+    private String regionBoundaries = "classpath:geo/germany-states.geojson";
+
+    @NotNull
+    private Geofence geofence = new Geofence();
+
+    @NotNull
+    private Source dwd = new Source("https://www.dwd.de/DWD/warnungen/warnapp/json/warnings.json",
+            Duration.ofSeconds(60));
+
+    @NotNull
+    private Source gdacs = new Source("https://www.gdacs.org/xml/rss.xml", Duration.ofMinutes(5));
+
+    /**
+     * Notifies users when their position enters or leaves a warning area.
+     */
+    @Data
+    public static class Geofence {
+        private boolean enabled = true;
+
+        // Positions reported within this window before startup are re-checked against new alerts too
+        @NotNull
+        private Duration seedMaxAge = Duration.ofMinutes(30);
+    }
+
+    /**
+     * A single feed polled on its own schedule.
+     */
+    @Data
+    public static class Source {
+        private boolean enabled = true;
+
+        @NotNull
+        private String url;
+
+        @NotNull
+        private Duration pollInterval;
+
+        public Source() {
+        }
+
+        public Source(String url, Duration pollInterval) {
+            this.url = url;
+            this.pollInterval = pollInterval;
+        }
+    }
+}
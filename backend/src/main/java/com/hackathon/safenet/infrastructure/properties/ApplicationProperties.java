@@ -1,5 +1,6 @@
 package com.hackathon.safenet.infrastructure.properties;
 
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -18,4 +19,35 @@ public class ApplicationProperties {
 
     @NotNull
     private SpringDoc springDoc = new SpringDoc();
+
+    @NotNull
+    private Location location = new Location();
+
+    @NotNull
+    private Friends friends = new Friends();
+
+    @NotNull
+    private Notification notification = new Notification();
+
+    @NotNull
+    private MeteoAlarm meteoAlarm = new MeteoAlarm();
+
+    @NotNull
+    private Alerts alerts = new Alerts();
+
+    @NotNull
+    private Http http = new Http();
+
+    @NotNull
+    private WebSocket websocket = new WebSocket();
+
+    /**
+     * The latest-location cache is warmed once on startup and afterwards only
+     * sees writes of its own instance, so replicas sharing users through a
+     * broker relay would answer with each other's stale or missing locations.
+     */
+    @AssertTrue(message = "safenet.location.cache.enabled must be false when safenet.websocket.broker.mode is RELAY")
+    public boolean isLocationCacheCompatibleWithBroker() {
+        return websocket.getBroker().getMode() != WebSocket.Mode.RELAY || !location.getCache().isEnabled();
+    }
 }
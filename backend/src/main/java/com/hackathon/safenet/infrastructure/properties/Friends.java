@@ -0,0 +1,29 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the friendship graph.
+ */
+@Data
+public class Friends {
+
+    @NotNull
+    private Cache cache = new Cache();
+
+    /** In-memory friend ID cache used for fan-out. */
+    @Data
+    public static class Cache {
+        // Users whose friend lists are kept
+        @Min(1)
+        private int maxEntries = 100_000;
+
+        // Longest a cached friend list is used; bounds staleness after changes on another instance
+        @NotNull
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,74 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for outbound HTTP calls to upstream feeds.
+ */
+@Data
+public class Http {
+
+    @NotNull
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    // Longest pause between two packets of a response
+    @NotNull
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    // Upper bound for a whole exchange including reading the body
+    @NotNull
+    private Duration totalTimeout = Duration.ofSeconds(30);
+
+    // Larger responses are aborted
+    @NotNull
+    private DataSize maxResponseSize = DataSize.ofMegabytes(10);
+
+    @NotNull
+    private Pool pool = new Pool();
+
+    @NotNull
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Shared connection pool with keep-alive.
+     */
+    @Data
+    public static class Pool {
+        @Min(1)
+        private int maxTotal = 50;
+
+        @Min(1)
+        private int maxPerRoute = 10;
+
+        // Wait for a free pooled connection before failing
+        @NotNull
+        private Duration acquireTimeout = Duration.ofSeconds(2);
+
+        // Connections are not reused after this age, e.g. to pick up DNS changes
+        @NotNull
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        @NotNull
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Per-upstream circuit breaker. After {@code failureThreshold} consecutive
+     * failures calls fail fast for {@code openDuration}, then a single trial call decides.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+
+        @Min(1)
+        private int failureThreshold = 5;
+
+        @NotNull
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
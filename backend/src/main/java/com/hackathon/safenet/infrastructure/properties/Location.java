@@ -0,0 +1,136 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the user location pipeline.
+ */
+@Data
+public class Location {
+
+    @NotNull
+    private Cache cache = new Cache();
+
+    @NotNull
+    private WriteBehind writeBehind = new WriteBehind();
+
+    @NotNull
+    private MovementFilter movementFilter = new MovementFilter();
+
+    @NotNull
+    private Grid grid = new Grid();
+
+    @NotNull
+    private Viewport viewport = new Viewport();
+
+    /**
+     * In-memory latest-location store in front of the database. It is local
+     * to one instance and cannot be enabled with the STOMP broker relay.
+     */
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+    }
+
+    /**
+     * Buffered persistence of location pings. The flush interval is the
+     * maximum time an accepted ping lives only in memory.
+     */
+    @Data
+    public static class WriteBehind {
+        private boolean enabled = true;
+
+        @NotNull
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        // Rows per JDBC batch
+        @Min(1)
+        private int maxBatchSize = 500;
+
+        // Distinct users waiting for a flush before backpressure applies
+        @Min(1)
+        private int maxPending = 50_000;
+
+        @NotNull
+        private Backpressure backpressure = Backpressure.BLOCK;
+
+        // How long BLOCK waits for room before rejecting the ping
+        @NotNull
+        private Duration offerTimeout = Duration.ofMillis(200);
+
+        private boolean drainOnShutdown = true;
+
+        @NotNull
+        private Duration shutdownTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * Suppression of pings that fall within the accuracy radius of the
+     * previous location and arrive within the minimum interval.
+     */
+    @Data
+    public static class MovementFilter {
+        private boolean enabled = true;
+
+        // A stationary device is still accepted once per interval
+        @NotNull
+        private Duration minInterval = Duration.ofSeconds(30);
+
+        // Lower bound of the radius in metres, for devices reporting very high accuracy
+        @PositiveOrZero
+        private double minDistance = 10.0;
+
+        // Upper bound of the radius in metres, for devices reporting very poor accuracy
+        @PositiveOrZero
+        private double maxRadius = 100.0;
+    }
+
+    /**
+     * Geohash cell index used by bounding-box queries. The cell of every
+     * location is stored in {@code user_locations.geohash}; rows from before the
+     * column existed are filled by migration V2 at this precision. After changing
+     * the precision, rows are only found by cell again once they are next saved.
+     */
+    @Data
+    public static class Grid {
+        // Characters per geohash cell; 6 is about 1.2 km x 0.6 km
+        @Min(1)
+        @Max(12)
+        private int precision = 6;
+
+        // Larger boxes fall back to a scan instead of enumerating cells
+        @Min(1)
+        private int maxQueryCells = 512;
+    }
+
+    /**
+     * Map viewports registered over STOMP. A viewport is indexed by the
+     * geohash cells covering it, at the finest precision up to
+     * {@code precision} that needs no more than {@code max-cells} cells.
+     */
+    @Data
+    public static class Viewport {
+        private boolean enabled = true;
+
+        // Finest cell precision; 5 is about 4.9 km x 4.9 km
+        @Min(1)
+        @Max(12)
+        private int precision = 5;
+
+        @Min(1)
+        private int maxCells = 256;
+    }
+
+    /** Behaviour when the write-behind buffer is full. */
+    public enum Backpressure {
+        BLOCK,       // Wait up to offer-timeout for a flush, then reject
+        DROP,        // Discard the ping and count it
+        CALLER_RUNS  // Flush one batch on the calling thread
+    }
+}
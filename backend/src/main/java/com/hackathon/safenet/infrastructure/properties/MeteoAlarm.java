@@ -0,0 +1,27 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration properties for the MeteoAlarm weather warning feeds.
+ */
+@Data
+public class MeteoAlarm {
+
+    // {country} is replaced by each entry of countries
+    @NotNull
+    private String feedUrl = "https://feeds.meteoalarm.org/feeds/meteoalarm-legacy-rss-{country}";
+
+    // The first country is served by the /api/weather endpoints
+    @NotEmpty
+    private List<String> countries = List.of("germany");
+
+    // Upper bound between two polls; a shorter channel ttl takes precedence
+    @NotNull
+    private Duration refreshInterval = Duration.ofSeconds(60);
+}
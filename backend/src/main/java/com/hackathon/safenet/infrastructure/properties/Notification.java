@@ -0,0 +1,66 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for notification delivery.
+ */
+@Data
+public class Notification {
+
+    @NotNull
+    private Dispatch dispatch = new Dispatch();
+
+    @NotNull
+    private Conflation conflation = new Conflation();
+
+    @NotNull
+    private CompactEncoding compactEncoding = new CompactEncoding();
+
+    /**
+     * Asynchronous delivery after the originating transaction commits.
+     * Each priority has its own lane; workers always drain the most urgent lane first.
+     */
+    @Data
+    public static class Dispatch {
+        private boolean enabled = true;
+
+        @Min(1)
+        private int workers = 4;
+
+        // Pending deliveries per priority, including those waiting behind an earlier one of their sender
+        @Min(1)
+        private int queueCapacity = 10_000;
+
+        @NotNull
+        private Duration shutdownTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Per-receiver conflation of friend location updates. Within one tick only
+     * the latest location of every sender is kept, and each receiver gets a
+     * single frame. Applied by the asynchronous dispatcher.
+     */
+    @Data
+    public static class Conflation {
+        private boolean enabled = true;
+
+        // Longest time a location update is held back
+        @NotNull
+        private Duration tick = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Binary location frames for clients that ask for them with the
+     * {@code location-encoding: compact} header on STOMP CONNECT. Other
+     * clients keep receiving JSON.
+     */
+    @Data
+    public static class CompactEncoding {
+        private boolean enabled = true;
+    }
+}
@@ -1,9 +1,12 @@
 package com.hackathon.safenet.infrastructure.properties;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
+import java.time.Duration;
+
 @Data
 public class Security {
 
@@ -16,6 +19,9 @@ public class Security {
     @NotNull
     private Jwt jwt = new Jwt();
 
+    @NotNull
+    private IntrospectionCache introspectionCache = new IntrospectionCache();
+
     @Data
     public static class Jwt {
         @NotBlank
@@ -25,4 +31,19 @@ public class Security {
 
         private long clockSkew = 60;
     }
+
+    /**
+     * Cache of token introspection results. A revoked token stays accepted
+     * for at most max-ttl, never beyond its own expiry.
+     */
+    @Data
+    public static class IntrospectionCache {
+        private boolean enabled = true;
+
+        @NotNull
+        private Duration maxTtl = Duration.ofSeconds(60);
+
+        @Min(1)
+        private int maxEntries = 10_000;
+    }
 }
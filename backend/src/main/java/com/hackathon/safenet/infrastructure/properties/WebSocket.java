@@ -0,0 +1,131 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the STOMP message broker.
+ */
+@Data
+public class WebSocket {
+
+    @NotNull
+    private Broker broker = new Broker();
+
+    @NotNull
+    private Transport transport = new Transport();
+
+    /**
+     * Broker behind the {@code /topic} and {@code /queue} destinations.
+     * {@code SIMPLE} keeps subscriptions in this JVM; {@code RELAY} forwards
+     * them to an external STOMP broker so that several replicas can serve
+     * the same users.
+     */
+    @Data
+    public static class Broker {
+        @NotNull
+        private Mode mode = Mode.SIMPLE;
+
+        @NotNull
+        private Relay relay = new Relay();
+    }
+
+    /**
+     * Connection to the external broker, e.g. RabbitMQ with the STOMP plugin
+     * or ActiveMQ Artemis.
+     */
+    @Data
+    public static class Relay {
+        @NotBlank
+        private String host = "localhost";
+
+        @Min(1)
+        @Max(65535)
+        private int port = 61613;
+
+        // Credentials of the per-client connections
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+
+        // Credentials of the shared system connection used for server-sent messages
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+
+        // Sent as the STOMP host header, e.g. the RabbitMQ vhost; defaults to the relay host
+        private String virtualHost;
+
+        @NotNull
+        private Duration systemHeartbeat = Duration.ofSeconds(10);
+
+        // Messages to users connected to another replica are re-broadcast here
+        @NotBlank
+        private String userDestinationBroadcast = "/topic/unresolved-user-destination";
+
+        // Replicas share their connected users here
+        @NotBlank
+        private String userRegistryBroadcast = "/topic/simp-user-registry";
+    }
+
+    /**
+     * Limits of the WebSocket transport and sizing of the STOMP channel
+     * executors. A session that cannot take its messages within
+     * {@code send-time-limit}, or whose unsent messages exceed
+     * {@code send-buffer-size-limit}, is closed.
+     */
+    @Data
+    public static class Transport {
+        // Longest a single send to one client may block
+        @NotNull
+        private Duration sendTimeLimit = Duration.ofSeconds(5);
+
+        // Unsent data buffered per session while a send is in progress
+        @NotNull
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(256);
+
+        // Largest inbound STOMP message, including frames split over several WebSocket messages
+        @NotNull
+        private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+
+        // Connections that send no CONNECT frame within this time are closed
+        @NotNull
+        private Duration timeToFirstMessage = Duration.ofSeconds(30);
+
+        // Messages from clients: authentication, location pings, subscriptions
+        @NotNull
+        private Pool inbound = new Pool();
+
+        // Messages to clients: notifications and broker broadcasts
+        @NotNull
+        private Pool outbound = new Pool();
+    }
+
+    /**
+     * Thread pool of a client channel. Tasks beyond the queue capacity start
+     * extra threads up to {@code max-pool-size}; beyond that they are rejected.
+     */
+    @Data
+    public static class Pool {
+        @Min(1)
+        private int corePoolSize = 16;
+
+        @Min(1)
+        private int maxPoolSize = 64;
+
+        @Min(0)
+        private int queueCapacity = 10_000;
+
+        @NotNull
+        private Duration keepAlive = Duration.ofSeconds(60);
+    }
+
+    public enum Mode {
+        SIMPLE, // In-memory broker, single instance
+        RELAY   // External STOMP broker, several instances
+    }
+}
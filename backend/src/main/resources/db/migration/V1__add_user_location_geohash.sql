@@ -0,0 +1,11 @@
+-- Geohash cell of each location for bounding-box queries (see UserLocationEntity).
+-- A fresh database has no table yet; Hibernate creates it with the column in dev.
+ALTER TABLE IF EXISTS user_locations ADD COLUMN IF NOT EXISTS geohash VARCHAR(12);
+
+DO $$
+BEGIN
+    IF to_regclass('user_locations') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_user_locations_geohash ON user_locations (geohash);
+    END IF;
+END
+$$;
@@ -0,0 +1,240 @@
+package com.hackathon.safenet.application.config;
+
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Broadcasts through the simple broker to many STOMP clients, one of which
+ * stops reading. The stalled client must be evicted as a slow consumer while
+ * every other client still receives every message.
+ *
+ * <p>The transport keeps its default limits. Messages are published at most
+ * {@value #WINDOW} ahead of what every reading client has received, so their
+ * backlog stays far below the send buffer limit however slowly this machine
+ * runs them, while the backlog of the stalled client grows until it is
+ * evicted.</p>
+ *
+ * <p>Only the WebSocket configuration is started, without security, so the
+ * clients connect anonymously.</p>
+ */
+@Slf4j
+@SpringBootTest(classes = WebSocketConfigLoadTest.LoadTestConfig.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.config.name=websocket-load-test")
+class WebSocketConfigLoadTest {
+
+    private static final int CLIENTS = 50;
+    private static final int MESSAGES = 1_000;
+    private static final String DESTINATION = "/topic/load";
+    private static final int WINDOW = 50;
+    private static final String PAYLOAD = "x".repeat(2048);
+
+    @Configuration
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class, WebSocketServletAutoConfiguration.class})
+    @Import(WebSocketConfig.class)
+    static class LoadTestConfig {
+
+        @Bean
+        ApplicationProperties applicationProperties() {
+            return new ApplicationProperties();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        // Keeps the kernel from absorbing the whole backlog of the stalled client
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> smallSendBuffer() {
+            return factory -> factory.addConnectorCustomizers(
+                    connector -> connector.setProperty("socket.txBufSize", "65536"));
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SimpMessagingTemplate brokerMessagingTemplate;
+
+    @Autowired
+    private SimpleBrokerMessageHandler simpleBroker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<StompSession> sessions = new ArrayList<>();
+    private Socket stalled;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sessions.forEach(StompSession::disconnect);
+        if (stalled != null) {
+            stalled.close();
+        }
+    }
+
+    @Test
+    void evictsStalledClientWhileOthersReceiveEveryMessage() throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new StringMessageConverter());
+        CountDownLatch delivered = new CountDownLatch(CLIENTS * MESSAGES);
+        AtomicIntegerArray received = new AtomicIntegerArray(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            int client = i;
+            StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws-native",
+                    new StompSessionHandlerAdapter() {
+                    }).get(10, TimeUnit.SECONDS);
+            session.subscribe(DESTINATION, new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return String.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received.incrementAndGet(client);
+                    delivered.countDown();
+                }
+            });
+            sessions.add(session);
+        }
+        stalled = connectWithoutReading();
+        awaitSubscribers(CLIENTS + 1);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            awaitReceived(received, i - WINDOW);
+            brokerMessagingTemplate.convertAndSend(DESTINATION, PAYLOAD);
+        }
+        boolean complete = delivered.await(30, TimeUnit.SECONDS);
+        log.info("Delivered {} of {} messages to {} clients in {} ms", CLIENTS * MESSAGES - delivered.getCount(),
+                CLIENTS * MESSAGES, CLIENTS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        assertThat(complete).isTrue();
+        awaitEviction();
+        assertThat(meterRegistry.get("safenet.websocket.sessions.evicted").tag("reason", "slow_consumer")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    /**
+     * Opens a WebSocket by hand, connects and subscribes over STOMP, and then
+     * never reads from the socket again.
+     */
+    private Socket connectWithoutReading() throws IOException {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = socket.getOutputStream();
+        String key = Base64.getEncoder().encodeToString("safenet-loadtest".getBytes(StandardCharsets.UTF_8));
+        out.write(("GET /ws-native HTTP/1.1\r\nHost: localhost:" + port + "\r\nUpgrade: websocket\r\n"
+                + "Connection: Upgrade\r\nSec-WebSocket-Key: " + key + "\r\nSec-WebSocket-Version: 13\r\n"
+                + "Sec-WebSocket-Protocol: v12.stomp\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        readHandshake(socket.getInputStream());
+
+        writeFrame(out, "CONNECT\naccept-version:1.2\nhost:localhost\n\n\0");
+        writeFrame(out, "SUBSCRIBE\nid:0\ndestination:" + DESTINATION + "\n\n\0");
+        return socket;
+    }
+
+    private static void readHandshake(InputStream in) throws IOException {
+        int matched = 0;
+        byte[] end = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        while (matched < end.length) {
+            int next = in.read();
+            if (next < 0) {
+                throw new IOException("Handshake response ended early");
+            }
+            matched = next == end[matched] ? matched + 1 : (next == end[0] ? 1 : 0);
+        }
+    }
+
+    // Client frames must be masked; a zero mask leaves the payload as is
+    private static void writeFrame(OutputStream out, String text) throws IOException {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        out.write(0x81);
+        out.write(0x80 | payload.length);
+        out.write(new byte[4]);
+        out.write(payload);
+        out.flush();
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(DESTINATION);
+        var probe = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int subscribers;
+        while ((subscribers = simpleBroker.getSubscriptionRegistry().findSubscriptions(probe).size()) < expected) {
+            assertThat(System.nanoTime()).as("%d of %d subscribed", subscribers, expected).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    // Waits until every reading client has received the given number of messages
+    private static void awaitReceived(AtomicIntegerArray received, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (int client = 0; client < received.length(); client++) {
+            while (received.get(client) < expected) {
+                assertThat(System.nanoTime()).as("client %d received %d of %d", client, received.get(client),
+                        expected).isLessThan(deadline);
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private void awaitEviction() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (meterRegistry.get("safenet.websocket.sessions.evicted").tag("reason", "slow_consumer")
+                .counter().count() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+}
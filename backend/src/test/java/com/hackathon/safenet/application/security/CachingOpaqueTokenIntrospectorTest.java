@@ -0,0 +1,78 @@
+package com.hackathon.safenet.application.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.DefaultOAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingOpaqueTokenIntrospectorTest {
+
+    private final OpaqueTokenIntrospector delegate = mock(OpaqueTokenIntrospector.class);
+
+    @Test
+    void cachesUntilTokenExpiry() {
+        when(delegate.introspect(anyString())).thenReturn(principal(Instant.now().plusSeconds(60)));
+        CachingOpaqueTokenIntrospector introspector = introspector(10);
+
+        assertThat(introspector.introspect("token")).isSameAs(introspector.introspect("token"));
+        verify(delegate, times(1)).introspect("token");
+    }
+
+    @Test
+    void doesNotCacheExpiredTokens() {
+        when(delegate.introspect(anyString())).thenReturn(principal(Instant.now().minusSeconds(1)));
+        CachingOpaqueTokenIntrospector introspector = introspector(10);
+
+        introspector.introspect("token");
+        introspector.introspect("token");
+        verify(delegate, times(2)).introspect("token");
+    }
+
+    @Test
+    void overflowEvictsLeastRecentlyUsedTokens() {
+        when(delegate.introspect(anyString())).thenReturn(principal(Instant.now().plusSeconds(60)));
+        CachingOpaqueTokenIntrospector introspector = introspector(10);
+        List<String> tokens = IntStream.range(0, 11).mapToObj(i -> "token-" + i).toList();
+
+        tokens.subList(0, 10).forEach(introspector::introspect);
+        // Tokens 0-4 are used again, so 5 and 6 are now the least recently used
+        tokens.subList(0, 5).forEach(introspector::introspect);
+        // The eleventh token trims the cache back to nine entries
+        introspector.introspect(tokens.get(10));
+        clearInvocations(delegate);
+
+        tokens.subList(0, 5).forEach(introspector::introspect);
+        tokens.subList(7, 11).forEach(introspector::introspect);
+        verify(delegate, never()).introspect(any());
+
+        introspector.introspect(tokens.get(5));
+        introspector.introspect(tokens.get(6));
+        verify(delegate, times(2)).introspect(any());
+    }
+
+    private CachingOpaqueTokenIntrospector introspector(int maxEntries) {
+        return new CachingOpaqueTokenIntrospector(delegate, Duration.ofMinutes(5), maxEntries, new SimpleMeterRegistry());
+    }
+
+    private static DefaultOAuth2AuthenticatedPrincipal principal(Instant expiresAt) {
+        return new DefaultOAuth2AuthenticatedPrincipal("user",
+                Map.of(OAuth2TokenIntrospectionClaimNames.EXP, expiresAt), List.of());
+    }
+}
@@ -0,0 +1,89 @@
+package com.hackathon.safenet.application.service;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocationViewportServiceTest {
+
+    private static final UUID VIEWER = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000001");
+    private static final UUID FRIEND = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000002");
+
+    private final List<String> viewportReceivers = new ArrayList<>();
+    private LocationViewportService viewports;
+
+    @BeforeEach
+    void setUp() {
+        FriendGraphPort friendGraph = mock(FriendGraphPort.class);
+        when(friendGraph.areFriends(VIEWER, FRIEND)).thenReturn(true);
+        when(friendGraph.getFriendIds(VIEWER)).thenReturn(List.of(FRIEND));
+        UserLocationRepositoryPort repository = mock(UserLocationRepositoryPort.class);
+        when(repository.findLatestVisibleLocationsByUserIds(any())).thenReturn(List.of());
+        NotificationPort notificationPort = mock(NotificationPort.class);
+        doAnswer(invocation -> {
+            Collection<String> receivers = invocation.getArgument(2);
+            return viewportReceivers.addAll(receivers);
+        }).when(notificationPort).sendToMany(eq(NotificationType.LOCATION_UPDATE), anyString(), any(), any());
+
+        viewports = new LocationViewportService(friendGraph, repository, notificationPort,
+                true, 5, 32, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void userWithAnotherSessionWithoutViewportKeepsGeneralFanOut() {
+        viewports.sessionOpened(VIEWER, "phone");
+        viewports.subscribe(VIEWER, "web", 52.4, 13.3, 52.6, 13.5);
+
+        viewports.publish(null, berlin(), Map.of());
+
+        assertThat(viewports.viewsOnlyThroughViewports(VIEWER)).isFalse();
+        assertThat(viewportReceivers).isEmpty();
+    }
+
+    @Test
+    void userWhoseSessionsAllHaveViewportsReceivesOnlyViewportUpdates() {
+        viewports.sessionOpened(VIEWER, "phone");
+        viewports.subscribe(VIEWER, "web", 52.4, 13.3, 52.6, 13.5);
+        viewports.subscribe(VIEWER, "phone", 52.4, 13.3, 52.6, 13.5);
+
+        viewports.publish(null, berlin(), Map.of());
+
+        assertThat(viewports.viewsOnlyThroughViewports(VIEWER)).isTrue();
+        assertThat(viewportReceivers).containsExactly(VIEWER.toString());
+    }
+
+    @Test
+    void closingTheOnlySessionWithoutViewportLeavesTheViewportInCharge() {
+        viewports.sessionOpened(VIEWER, "phone");
+        viewports.subscribe(VIEWER, "web", 52.4, 13.3, 52.6, 13.5);
+
+        viewports.sessionClosed(VIEWER, "phone");
+        assertThat(viewports.viewsOnlyThroughViewports(VIEWER)).isTrue();
+
+        viewports.sessionClosed(VIEWER, "web");
+        assertThat(viewports.viewsOnlyThroughViewports(VIEWER)).isFalse();
+    }
+
+    private static UserLocation berlin() {
+        return UserLocation.create(FRIEND, 52.52, 13.405, null, null, true);
+    }
+}
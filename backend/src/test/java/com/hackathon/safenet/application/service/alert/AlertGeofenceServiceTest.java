@@ -0,0 +1,115 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.domain.ports.outbound.UserLocationRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AlertGeofenceServiceTest {
+
+    private static final UUID USER = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000001");
+    // Kiel, in Schleswig-Holstein
+    private static final double LATITUDE = 54.32;
+    private static final double LONGITUDE = 10.13;
+
+    private static final RegionBoundaryCatalog CATALOG = new RegionBoundaryCatalog(new DefaultResourceLoader(),
+            new ObjectMapper(), "classpath:geo/germany-states.geojson");
+
+    private final AlertIngestionService ingestionService = mock(AlertIngestionService.class);
+    private final UserLocationRepositoryPort locationRepository = mock(UserLocationRepositoryPort.class);
+    private final List<String> notifications = Collections.synchronizedList(new ArrayList<>());
+    private AlertGeofenceService geofence;
+
+    @BeforeEach
+    void setUp() {
+        NotificationPort notificationPort = mock(NotificationPort.class);
+        doAnswer(invocation -> {
+            NotificationMessage message = invocation.getArgument(0);
+            return notifications.add(message.getType() + " " + message.getData().get("alertId"));
+        }).when(notificationPort).send(any());
+        geofence = new AlertGeofenceService(ingestionService, locationRepository, notificationPort,
+                new SimpleMeterRegistry(), true, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void watchesStoredPositionsOfUsersWhoHaveNotReportedSinceStartup() {
+        when(locationRepository.findRecentLocations(any())).thenReturn(List.of(
+                UserLocation.create(USER, LATITUDE, LONGITUDE, null, null, false)));
+        Alert storm = alert("dwd:storm");
+        Alert frost = alert("dwd:frost");
+
+        // Users in a warning may have been told before the restart
+        geofence.onSnapshot(snapshot(storm));
+        assertThat(notifications).isEmpty();
+
+        geofence.onSnapshot(snapshot(frost));
+
+        assertThat(notifications).containsExactly(
+                NotificationType.WEATHER_ALERT_ENTERED + " dwd:frost",
+                NotificationType.WEATHER_ALERT_EXITED + " dwd:storm");
+    }
+
+    @Test
+    void positionEvaluatedAgainstOlderIndexDoesNotUndoNewerSnapshot() throws InterruptedException {
+        Alert storm = alert("dwd:storm");
+        AlertSnapshotEvent before = snapshot();
+        AlertSnapshotEvent after = snapshot(storm);
+        AtomicReference<AlertSpatialIndex> current = new AtomicReference<>(before.index());
+        when(locationRepository.findRecentLocations(any())).thenReturn(List.of());
+        when(ingestionService.getIndex()).thenAnswer(invocation -> current.get());
+        geofence.onSnapshot(before);
+        geofence.evaluate(USER, LATITUDE, LONGITUDE);
+
+        CountDownLatch indexRead = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        when(ingestionService.getIndex()).thenAnswer(invocation -> {
+            AlertSpatialIndex index = current.get();
+            indexRead.countDown();
+            releaseRead.await();
+            return index;
+        });
+        Thread ping = Thread.ofVirtual().start(() -> geofence.evaluate(USER, LATITUDE, LONGITUDE));
+        indexRead.await();
+        // The ingestion service swaps the index before it publishes the snapshot
+        Thread update = Thread.ofVirtual().start(() -> {
+            current.set(after.index());
+            geofence.onSnapshot(after);
+        });
+        update.join(200);
+        releaseRead.countDown();
+        ping.join();
+        update.join();
+
+        assertThat(notifications).containsExactly(NotificationType.WEATHER_ALERT_ENTERED + " dwd:storm");
+    }
+
+    private static AlertSnapshotEvent snapshot(Alert... alerts) {
+        List<Alert> merged = List.of(alerts);
+        return new AlertSnapshotEvent(merged, AlertSpatialIndex.build(merged, CATALOG));
+    }
+
+    private static Alert alert(String id) {
+        return Alert.builder().id(id).source("dwd").title(id).region("Schleswig-Holstein").build();
+    }
+}
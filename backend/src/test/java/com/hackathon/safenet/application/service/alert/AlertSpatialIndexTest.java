@@ -0,0 +1,56 @@
+package com.hackathon.safenet.application.service.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.safenet.domain.model.alert.Alert;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertSpatialIndexTest {
+
+    // Kiel, in Schleswig-Holstein
+    private static final double LATITUDE = 54.32;
+    private static final double LONGITUDE = 10.13;
+
+    private final RegionBoundaryCatalog catalog = new RegionBoundaryCatalog(new DefaultResourceLoader(),
+            new ObjectMapper(), "classpath:geo/germany-states.geojson");
+
+    @Test
+    void locatesStateWideWarning() {
+        Alert stateWide = alert("dwd:1", "Schleswig-Holstein");
+
+        AlertSpatialIndex index = AlertSpatialIndex.build(List.of(stateWide), catalog);
+
+        assertThat(index.findAlertsAt(LATITUDE, LONGITUDE)).containsExactly(stateWide);
+        assertThat(index.unlocated()).isZero();
+    }
+
+    @Test
+    void leavesOutCountyWarningInsteadOfWideningItToItsState() {
+        Alert county = alert("dwd:2", "Kreis Nordfriesland");
+
+        AlertSpatialIndex index = AlertSpatialIndex.build(List.of(county), catalog);
+
+        assertThat(index.findAlertsAt(LATITUDE, LONGITUDE)).isEmpty();
+        assertThat(index.size()).isZero();
+        assertThat(index.unlocated()).isEqualTo(1);
+    }
+
+    @Test
+    void locatesUnknownRegionByItsPoint() {
+        Alert earthquake = Alert.builder().id("gdacs:1").region("Offshore").latitude(LATITUDE).longitude(LONGITUDE)
+                .build();
+
+        AlertSpatialIndex index = AlertSpatialIndex.build(List.of(earthquake), catalog);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.unlocated()).isZero();
+    }
+
+    private static Alert alert(String id, String region) {
+        return Alert.builder().id(id).source("dwd").region(region).state("Schleswig-Holstein").build();
+    }
+}
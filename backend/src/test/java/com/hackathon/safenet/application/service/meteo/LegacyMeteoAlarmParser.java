@@ -0,0 +1,87 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex parser {@link MeteoAlarmParser} replaced, kept as the reference
+ * its output is compared against. The only deliberate change since is that
+ * times are normalised to UTC instead of keeping the feed's local offset.
+ */
+final class LegacyMeteoAlarmParser {
+
+    private LegacyMeteoAlarmParser() {
+    }
+
+    static Integer extractAwarenessLevel(String description) {
+        if (description == null) return null;
+        Pattern pattern = Pattern.compile("level:(\\d+)");
+        Matcher matcher = pattern.matcher(description);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1));
+        }
+        return null;
+    }
+
+    static Integer extractAwarenessType(String description) {
+        if (description == null) return null;
+        Pattern pattern = Pattern.compile("awt:(\\d+)");
+        Matcher matcher = pattern.matcher(description);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1));
+        }
+        return null;
+    }
+
+    static LocalDateTime extractDateTime(String description, String prefix) {
+        if (description == null) return null;
+        Pattern pattern = Pattern.compile(prefix + "\\s*</b>\\s*<i>([^<]+)</i>");
+        Matcher matcher = pattern.matcher(description);
+
+        if (matcher.find()) {
+            try {
+                String dateStr = matcher.group(1).trim();
+                return ZonedDateTime.parse(dateStr).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            } catch (Exception e) {
+                // Optionally log or handle parse error
+            }
+        }
+        return null;
+    }
+
+    static LocalDateTime parsePubDate(String pubDateStr) {
+        if (pubDateStr == null) return null;
+        try {
+            DateTimeFormatter rfc822Formatter = new DateTimeFormatterBuilder()
+                    .parseCaseInsensitive()
+                    .appendPattern("EEE, dd MMM yy HH:mm:ss ")
+                    .appendOffset("+HHMM", "+0000")
+                    .toFormatter(Locale.ENGLISH);
+
+            return ZonedDateTime.parse(pubDateStr.trim(), rfc822Formatter).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+        } catch (Exception e) {
+            // Optionally log or handle parse error
+        }
+        return null;
+    }
+
+    static String extractLanguageSpecificDescription(String description, String language) {
+        if (description == null) return null;
+
+        String languageCode = language.equals("german") ? "de-DE" : "en";
+        Pattern pattern = Pattern.compile(languageCode + "\\):\\s*([^\\n]+(?:\\n(?!\\w+\\([^)]+\\):)[^\\n]*)*)");
+        Matcher matcher = pattern.matcher(description);
+
+        if (matcher.find()) {
+            return matcher.group(1).trim();
+        }
+
+        return null;
+    }
+}
\ No newline at end of file
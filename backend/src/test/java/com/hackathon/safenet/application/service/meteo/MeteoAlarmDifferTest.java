@@ -0,0 +1,61 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmDelta;
+import com.hackathon.safenet.domain.model.meteoalarm.MeteoAlarmItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteoAlarmDifferTest {
+
+    @Test
+    void classifiesItemsByGuid() {
+        MeteoAlarmItem kept = item("berlin", "Berlin", 2);
+        MeteoAlarmItem raised = item("hamburg", "Hamburg", 3);
+        MeteoAlarmItem expired = item("bremen", "Bremen", 1);
+        MeteoAlarmItem added = item("kiel", "Kiel", 2);
+
+        MeteoAlarmDelta delta = MeteoAlarmDiffer.diff("english",
+                List.of(kept, item("hamburg", "Hamburg", 2), expired),
+                List.of(kept, raised, added));
+
+        assertThat(delta.language()).isEqualTo("english");
+        assertThat(delta.added()).containsExactly(added);
+        assertThat(delta.changed()).containsExactly(raised);
+        assertThat(delta.expired()).containsExactly(expired);
+    }
+
+    @Test
+    void matchesItemsWithoutGuidByTitle() {
+        MeteoAlarmDelta delta = MeteoAlarmDiffer.diff("german",
+                List.of(item(null, "Kreis Nordfriesland", 1)),
+                List.of(item(null, "Kreis Nordfriesland", 2), item(null, "Kreis Dithmarschen", 1)));
+
+        assertThat(delta.added()).extracting(MeteoAlarmItem::getTitle).containsExactly("Kreis Dithmarschen");
+        assertThat(delta.changed()).extracting(MeteoAlarmItem::getAwarenessLevel).containsExactly(2);
+        assertThat(delta.expired()).isEmpty();
+    }
+
+    @Test
+    void unchangedFeedHasEmptyDelta() {
+        List<MeteoAlarmItem> items = List.of(item("berlin", "Berlin", 2));
+
+        MeteoAlarmDelta delta = MeteoAlarmDiffer.diff("english", items, List.of(item("berlin", "Berlin", 2)));
+
+        assertThat(delta.added()).isEmpty();
+        assertThat(delta.changed()).isEmpty();
+        assertThat(delta.expired()).isEmpty();
+    }
+
+    private static MeteoAlarmItem item(String guid, String title, int level) {
+        return MeteoAlarmItem.builder()
+                .guid(guid)
+                .title(title)
+                .region(title)
+                .awarenessLevel(level)
+                .language("english")
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import com.hackathon.safenet.support.Allocations;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the streaming feed reader with the DOM parsing it replaced, on a
+ * generated 1000-item feed.
+ */
+@Slf4j
+class MeteoAlarmFeedReaderAllocationTest {
+
+    private static final int ITEMS = 1000;
+    private static final byte[] FEED = feed(ITEMS).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void bothParsersReadTheSameItems() throws Exception {
+        List<MeteoAlarmFeedReader.RawItem> streamed = new ArrayList<>();
+        List<MeteoAlarmFeedReader.RawItem> parsed = new ArrayList<>();
+
+        MeteoAlarmFeedReader.read(new ByteArrayInputStream(FEED), streamed::add);
+        readWithDom(FEED, parsed::add);
+
+        assertThat(streamed).hasSize(ITEMS).isEqualTo(parsed);
+    }
+
+    @Test
+    void streamingAllocatesLessThanDom() throws Exception {
+        long dom = Allocations.perRun(10, () -> readWithDom(FEED, item -> { }));
+        long streaming = Allocations.perRun(10,
+                () -> MeteoAlarmFeedReader.read(new ByteArrayInputStream(FEED), item -> { }));
+
+        log.info("{}-item feed: DOM {} KiB, streaming {} KiB per parse", ITEMS, dom / 1024, streaming / 1024);
+        assertThat(streaming).isLessThan(dom / 2);
+    }
+
+    /**
+     * The parsing before the streaming reader: the response as a String, its
+     * bytes in the platform charset, a DOM, and a tag lookup per field.
+     */
+    private static void readWithDom(byte[] feed, Consumer<MeteoAlarmFeedReader.RawItem> onItem) throws Exception {
+        String rssContent = new String(feed, StandardCharsets.UTF_8);
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(rssContent.getBytes()));
+        NodeList itemNodes = document.getElementsByTagName("item");
+        for (int i = 0; i < itemNodes.getLength(); i++) {
+            Element item = (Element) itemNodes.item(i);
+            onItem.accept(new MeteoAlarmFeedReader.RawItem(text(item, "title"), text(item, "description"),
+                    text(item, "link"), text(item, "guid"), text(item, "pubDate")));
+        }
+    }
+
+    private static String text(Element parent, String tagName) {
+        NodeList nodes = parent.getElementsByTagName(tagName);
+        return nodes.getLength() > 0 ? nodes.item(0).getTextContent() : null;
+    }
+
+    private static String feed(int items) {
+        StringBuilder feed = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <rss version="2.0"><channel><title>MeteoAlarm Germany</title>
+                <description>Warnings for Germany</description>
+                <link>https://feeds.meteoalarm.org/feeds/meteoalarm-legacy-rss-germany</link>
+                <language>en</language><ttl>60</ttl>
+                """);
+        for (int i = 0; i < items; i++) {
+            feed.append("""
+                    <item><title>Region %1$d</title>
+                    <description><![CDATA[<table><tr><th colspan="3">Today</th></tr>\
+                    <tr><td><img alt="awt:%2$d level:%3$d" src="https://meteoalarm.org/%2$d.jpg"/></td>\
+                    <td><b>From: </b><i>2025-10-17T10:00:00+02:00</i><b>Until: </b><i>2025-10-17T20:00:00+02:00</i></td>\
+                    <td>english(en): There is a risk of strong winds in region %1$d. Gusts up to 70 km/h.
+                    german(de-DE): In Region %1$d treten Sturmböen bis 70 km/h auf.
+                    </td></tr></table>]]></description>
+                    <link>https://meteoalarm.org/region/%1$d</link><guid>region-%1$d</guid>
+                    <pubDate>Fri, 17 Oct 25 10:00:00 +0200</pubDate></item>
+                    """.formatted(i, 1 + i % 13, 1 + i % 4));
+        }
+        return feed.append("</channel></rss>\n").toString();
+    }
+}
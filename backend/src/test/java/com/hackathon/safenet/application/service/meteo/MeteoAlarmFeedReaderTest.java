@@ -0,0 +1,98 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteoAlarmFeedReaderTest {
+
+    private static final String FEED = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <rss version="2.0">
+              <channel>
+                <title>MeteoAlarm Germany</title>
+                <description>Warnings for Germany</description>
+                <link>https://feeds.meteoalarm.org/feeds/meteoalarm-legacy-rss-germany</link>
+                <language>en</language>
+                <ttl>60</ttl>
+                <image>
+                  <title>Image title is not the channel title</title>
+                </image>
+                <item>
+                  <title>Berlin</title>
+                  <description><![CDATA[<table><tr><td>level:2</td><td>awt:1</td></tr></table>]]></description>
+                  <link>https://meteoalarm.org/berlin</link>
+                  <guid>berlin-1</guid>
+                  <pubDate>Fri, 17 Oct 25 10:00:00 +0200</pubDate>
+                </item>
+                <item>
+                  <title>Hamburg &amp; Umland</title>
+                  <guid>hamburg-1</guid>
+                </item>
+              </channel>
+            </rss>
+            """;
+
+    @Test
+    void readsChannelAndItemsInDocumentOrder() throws IOException {
+        List<MeteoAlarmFeedReader.RawItem> items = new ArrayList<>();
+
+        MeteoAlarmFeedReader.Channel channel = MeteoAlarmFeedReader.read(stream(FEED), items::add);
+
+        assertThat(channel).isEqualTo(new MeteoAlarmFeedReader.Channel("MeteoAlarm Germany",
+                "Warnings for Germany", "https://feeds.meteoalarm.org/feeds/meteoalarm-legacy-rss-germany", "en", 60));
+        assertThat(items).containsExactly(
+                new MeteoAlarmFeedReader.RawItem("Berlin",
+                        "<table><tr><td>level:2</td><td>awt:1</td></tr></table>",
+                        "https://meteoalarm.org/berlin", "berlin-1", "Fri, 17 Oct 25 10:00:00 +0200"),
+                new MeteoAlarmFeedReader.RawItem("Hamburg & Umland", null, null, "hamburg-1", null));
+    }
+
+    @Test
+    void rejectsExternalEntity(@TempDir Path dir) throws IOException {
+        Path secret = Files.writeString(dir.resolve("secret.txt"), "top-secret");
+        String feed = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE rss [<!ENTITY xxe SYSTEM "%s">]>
+                <rss version="2.0"><channel><title>&xxe;</title></channel></rss>
+                """.formatted(secret.toUri());
+
+        assertThatThrownBy(() -> MeteoAlarmFeedReader.read(stream(feed), item -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Malformed MeteoAlarm feed");
+    }
+
+    @Test
+    void doesNotExpandInternalEntities() {
+        String feed = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE rss [<!ENTITY lol "lol"><!ENTITY lol2 "&lol;&lol;&lol;&lol;&lol;">]>
+                <rss version="2.0"><channel><title>&lol2;</title></channel></rss>
+                """;
+
+        assertThatThrownBy(() -> MeteoAlarmFeedReader.read(stream(feed), item -> { }))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsMalformedFeed() {
+        assertThatThrownBy(() -> MeteoAlarmFeedReader.read(stream("<rss><channel><title>"), item -> { }))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Malformed MeteoAlarm feed");
+    }
+
+    private static InputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
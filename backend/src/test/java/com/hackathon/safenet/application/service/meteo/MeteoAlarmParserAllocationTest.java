@@ -0,0 +1,66 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import com.hackathon.safenet.support.Allocations;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the single-pass description parser with the regex parser it
+ * replaced, on the descriptions of a 1000-item feed parsed for both
+ * languages the way {@link MeteoAlarmService} does.
+ */
+@Slf4j
+class MeteoAlarmParserAllocationTest {
+
+    private static final String PUB_DATE = "Fri, 17 Oct 25 10:00:00 +0200";
+    private static final List<String> DESCRIPTIONS = IntStream.range(0, 1000)
+            .mapToObj(i -> """
+                    <table><tr><th colspan="3">Today</th></tr>\
+                    <tr><td><img alt="awt:%2$d level:%3$d" src="https://meteoalarm.org/%2$d.jpg"/></td>\
+                    <td><b>From: </b><i>2025-10-17T10:00:00+02:00</i><b>Until: </b><i>2025-10-17T20:00:00+02:00</i></td>\
+                    <td>english(en): There is a risk of strong winds in region %1$d. Gusts up to 70 km/h.
+                    german(de-DE): In Region %1$d treten Sturmböen bis 70 km/h auf.
+                    </td></tr></table>""".formatted(i, 1 + i % 13, 1 + i % 4))
+            .toList();
+
+    @Test
+    void singlePassAllocatesLessThanRegexParser() throws Exception {
+        long legacy = Allocations.perRun(5, MeteoAlarmParserAllocationTest::parseWithLegacyParser);
+        long singlePass = Allocations.perRun(5, MeteoAlarmParserAllocationTest::parseInSinglePass);
+
+        log.info("{} descriptions: regex parser {} KiB, single pass {} KiB per feed",
+                DESCRIPTIONS.size(), legacy / 1024, singlePass / 1024);
+        assertThat(singlePass).isLessThan(legacy / 2);
+    }
+
+    /**
+     * Five scans and a new formatter per item and language.
+     */
+    private static void parseWithLegacyParser() {
+        for (String description : DESCRIPTIONS) {
+            for (String language : MeteoAlarmService.LANGUAGES) {
+                LegacyMeteoAlarmParser.extractAwarenessLevel(description);
+                LegacyMeteoAlarmParser.extractAwarenessType(description);
+                LegacyMeteoAlarmParser.extractDateTime(description, "From:");
+                LegacyMeteoAlarmParser.extractDateTime(description, "Until:");
+                LegacyMeteoAlarmParser.extractLanguageSpecificDescription(description, language);
+                LegacyMeteoAlarmParser.parsePubDate(PUB_DATE);
+            }
+        }
+    }
+
+    private static void parseInSinglePass() {
+        for (String description : DESCRIPTIONS) {
+            MeteoAlarmParser.Description parsed = MeteoAlarmParser.parseDescription(description);
+            for (String language : MeteoAlarmService.LANGUAGES) {
+                parsed.forLanguage(language);
+                MeteoAlarmParser.parsePubDate(PUB_DATE);
+            }
+        }
+    }
+}
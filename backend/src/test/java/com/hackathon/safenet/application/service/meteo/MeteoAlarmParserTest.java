@@ -0,0 +1,87 @@
+package com.hackathon.safenet.application.service.meteo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteoAlarmParserTest {
+
+    private static final String TODAY = """
+            <table border="0" cellspacing="0" cellpadding="3"><tr><th colspan="3" align="left">Today</th></tr>\
+            <tr><td><img alt="awt:1 level:2" src="https://meteoalarm.org/wind.jpg"/></td>\
+            <td><b>From: </b><i>2025-10-17T10:00:00+02:00</i><b>Until: </b><i>2025-10-17T20:00:00+02:00</i></td>\
+            <td>english(en): There is a risk of strong winds.
+            Gusts up to 70 km/h.
+            german(de-DE): Es treten Sturmböen auf.
+            </td></tr></table>""";
+
+    private static final String TWO_DAYS = """
+            <table><tr><td>awt:10 level:3</td>\
+            <td><b>From: </b><i>2025-10-17T00:00:00Z</i><b>Until: </b><i>2025-10-17T23:59:00Z</i></td>\
+            <td>english(en): Heavy rain.</td></tr>\
+            <tr><td>awt:1 level:2</td>\
+            <td><b>From: </b><i>2025-10-18T00:00:00Z</i><b>Until: </b><i>2025-10-18T23:59:00Z</i></td>\
+            <td>english(en): Wind tomorrow.</td></tr></table>""";
+
+    private static final String GERMAN_ONLY = """
+            <td>awt:4 level:1</td><td>german(de-DE): Frost in Hochlagen.
+            Glätte möglich.</td>""";
+
+    private static final String UNPARSEABLE_DATES = """
+            awt:2 level:4 <b>From:</b> <i>tomorrow</i> <b>Until:</b> <i>2025-13-40T00:00:00Z</i>
+            english(en): Snow.""";
+
+    private static final String NO_TOKENS = "<p>No warnings in effect.</p>";
+
+    static Stream<String> descriptions() {
+        return Stream.of(TODAY, TWO_DAYS, GERMAN_ONLY, UNPARSEABLE_DATES, NO_TOKENS, null);
+    }
+
+    @ParameterizedTest
+    @MethodSource("descriptions")
+    void matchesLegacyParser(String description) {
+        MeteoAlarmParser.Description parsed = MeteoAlarmParser.parseDescription(description);
+
+        assertThat(parsed.awarenessLevel()).isEqualTo(LegacyMeteoAlarmParser.extractAwarenessLevel(description));
+        assertThat(parsed.awarenessType()).isEqualTo(LegacyMeteoAlarmParser.extractAwarenessType(description));
+        assertThat(parsed.validFrom()).isEqualTo(LegacyMeteoAlarmParser.extractDateTime(description, "From:"));
+        assertThat(parsed.validUntil()).isEqualTo(LegacyMeteoAlarmParser.extractDateTime(description, "Until:"));
+        for (String language : new String[]{"english", "german"}) {
+            assertThat(parsed.forLanguage(language))
+                    .as(language)
+                    .isEqualTo(LegacyMeteoAlarmParser.extractLanguageSpecificDescription(description, language));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Fri, 17 Oct 25 10:00:00 +0200", "fri, 17 oct 25 08:00:00 +0000", "17 Oct 2025", ""})
+    void parsesPubDateLikeLegacyParser(String pubDate) {
+        assertThat(MeteoAlarmParser.parsePubDate(pubDate)).isEqualTo(LegacyMeteoAlarmParser.parsePubDate(pubDate));
+    }
+
+    @Test
+    void firstOccurrenceOfEachFieldWins() {
+        MeteoAlarmParser.Description parsed = MeteoAlarmParser.parseDescription(TWO_DAYS);
+
+        assertThat(parsed.awarenessLevel()).isEqualTo(3);
+        assertThat(parsed.awarenessType()).isEqualTo(10);
+        assertThat(parsed.validFrom()).isEqualTo(LocalDateTime.of(2025, 10, 17, 0, 0));
+        assertThat(parsed.validUntil()).isEqualTo(LocalDateTime.of(2025, 10, 17, 23, 59));
+    }
+
+    @Test
+    void normalisesTimesToUtc() {
+        MeteoAlarmParser.Description parsed = MeteoAlarmParser.parseDescription(TODAY);
+
+        assertThat(parsed.validFrom()).isEqualTo(LocalDateTime.of(2025, 10, 17, 8, 0));
+        assertThat(parsed.validUntil()).isEqualTo(LocalDateTime.of(2025, 10, 17, 18, 0));
+        assertThat(MeteoAlarmParser.parsePubDate("Fri, 17 Oct 25 10:00:00 +0200"))
+                .isEqualTo(LocalDateTime.of(2025, 10, 17, 8, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package com.hackathon.safenet.application.util.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GeohashTest {
+
+    @Test
+    void encodesKnownCells() {
+        assertThat(Geohash.encode(57.64911, 10.40744, 11)).isEqualTo("u4pruydqqvj");
+        assertThat(Geohash.encode(52.5200, 13.4050, 6)).isEqualTo("u33dc0");
+        assertThat(Geohash.encode(-33.8688, 151.2093, 5)).isEqualTo("r3gx2");
+    }
+
+    @Test
+    void boundsContainEncodedPoint() {
+        String cell = Geohash.encode(52.5200, 13.4050, 6);
+
+        Envelope bounds = Geohash.bounds(cell);
+
+        assertThat(bounds.contains(13.4050, 52.5200)).isTrue();
+        assertThat(bounds.maxX() - bounds.minX()).isCloseTo(360.0 / (1 << 15), within(1e-12));
+        assertThat(bounds.maxY() - bounds.minY()).isCloseTo(180.0 / (1 << 15), within(1e-12));
+        assertThat(Geohash.encode(bounds.centerY(), bounds.centerX(), 6)).isEqualTo(cell);
+    }
+
+    @Test
+    void worldEdgesFallIntoLastCell() {
+        assertThat(Geohash.encode(90, 180, 1)).isEqualTo("z");
+        assertThat(Geohash.encode(-90, -180, 1)).isEqualTo("0");
+    }
+
+    @Test
+    void coverListsEveryIntersectingCellRowByRow() {
+        Envelope box = new Envelope(13.3, 52.45, 13.5, 52.55);
+
+        List<String> cells = Geohash.cover(box, 5, 100).orElseThrow();
+
+        assertThat(cells).doesNotHaveDuplicates();
+        assertThat(cells).allSatisfy(cell -> assertThat(Geohash.bounds(cell).intersects(box)).isTrue());
+        assertThat(cells).contains(Geohash.encode(52.45, 13.3, 5), Geohash.encode(52.55, 13.5, 5),
+                Geohash.encode(52.5, 13.4, 5));
+        assertThat(Geohash.bounds(cells.getFirst()).minY()).isLessThanOrEqualTo(Geohash.bounds(cells.getLast()).minY());
+    }
+
+    @Test
+    void coverGivesUpAboveMaxCells() {
+        Envelope germany = new Envelope(5.8, 47.2, 15.1, 55.1);
+
+        assertThat(Geohash.cover(germany, 6, 512)).isEmpty();
+        assertThat(Geohash.cover(germany, 3, 512)).isPresent();
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThatThrownBy(() -> Geohash.encode(0, 0, 13)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Geohash.bounds("u33a")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,73 @@
+package com.hackathon.safenet.application.util.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StrTreeTest {
+
+    @Test
+    void areaQueryMatchesLinearScan() {
+        Random random = new Random(42);
+        List<StrTree.Entry<Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            double x = random.nextDouble() * 360 - 180;
+            double y = random.nextDouble() * 180 - 90;
+            entries.add(new StrTree.Entry<>(new Envelope(x, y, x + random.nextDouble(), y + random.nextDouble()), i));
+        }
+        StrTree<Integer> tree = new StrTree<>(entries);
+
+        for (int i = 0; i < 200; i++) {
+            double x = random.nextDouble() * 360 - 180;
+            double y = random.nextDouble() * 180 - 90;
+            Envelope area = new Envelope(x, y, x + random.nextDouble() * 20, y + random.nextDouble() * 10);
+
+            List<Integer> found = new ArrayList<>();
+            tree.query(area, found::add);
+
+            assertThat(found).as("query %s", area).containsExactlyInAnyOrderElementsOf(entries.stream()
+                    .filter(entry -> entry.envelope().intersects(area))
+                    .map(StrTree.Entry::item)
+                    .toList());
+        }
+    }
+
+    @Test
+    void pointQueryFindsEveryContainingItem() {
+        StrTree<String> tree = new StrTree<>(List.of(
+                new StrTree.Entry<>(new Envelope(5.8, 47.2, 15.1, 55.1), "germany"),
+                new StrTree.Entry<>(new Envelope(13.0, 52.3, 13.8, 52.7), "berlin"),
+                new StrTree.Entry<>(new Envelope(9.7, 53.4, 10.3, 53.7), "hamburg")));
+
+        List<String> found = new ArrayList<>();
+        tree.query(13.4, 52.5, found::add);
+
+        assertThat(found).containsExactlyInAnyOrder("germany", "berlin");
+        assertThat(tree.size()).isEqualTo(3);
+    }
+
+    @Test
+    void pointOnBoundaryIsInside() {
+        StrTree<String> tree = new StrTree<>(List.of(new StrTree.Entry<>(new Envelope(0, 0, 1, 1), "cell")));
+
+        List<String> found = new ArrayList<>();
+        tree.query(1, 1, found::add);
+
+        assertThat(found).containsExactly("cell");
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        StrTree<String> tree = new StrTree<>(List.of());
+
+        List<String> found = new ArrayList<>();
+        tree.query(new Envelope(-180, -90, 180, 90), found::add);
+
+        assertThat(found).isEmpty();
+        assertThat(tree.size()).isZero();
+    }
+}
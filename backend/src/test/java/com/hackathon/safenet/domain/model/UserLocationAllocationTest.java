@@ -0,0 +1,155 @@
+package com.hackathon.safenet.domain.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.safenet.support.Allocations;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the allocations of one location ping with double coordinates
+ * against the {@link BigDecimal} model they replaced: the request body is
+ * read, the stored location is moved, its distance to the previous one is
+ * taken, and the friend payload is built.
+ *
+ * <p>Doubles save the range checks' {@code compareTo} calls, not allocations.
+ * The record is a few bytes larger, the payload boxes the coordinates, and
+ * reading the body allocates more, because Jackson parses a double from a
+ * String it creates first. The assertions only guard against this getting
+ * worse.</p>
+ */
+@Slf4j
+class UserLocationAllocationTest {
+
+    private static final int PINGS = 10_000;
+    private static final UUID USER = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000001");
+    private static final byte[] BODY = """
+            {"latitude":52.52000659,"longitude":13.40495400,"altitude":34.5,"accuracy":4.2,"visibleToFriends":true}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    record Ping(Double latitude, Double longitude, Double altitude, Double accuracy, Boolean visibleToFriends) {
+    }
+
+    record LegacyPing(BigDecimal latitude, BigDecimal longitude, BigDecimal altitude, BigDecimal accuracy,
+                      Boolean visibleToFriends) {
+    }
+
+    @Test
+    void doublesDoNotAllocateNoticeablyMorePerPing() throws Exception {
+        UserLocation previous = UserLocation.create(USER, 52.52, 13.405, null, null, true);
+        LegacyUserLocation legacyPrevious = LegacyUserLocation.create(USER,
+                new BigDecimal("52.52"), new BigDecimal("13.405"), null, null, true);
+        Ping ping = objectMapper.readValue(BODY, Ping.class);
+        LegacyPing legacyPing = objectMapper.readValue(BODY, LegacyPing.class);
+
+        long legacyModel = perPing(() -> legacyPrevious.updateCoordinates(legacyPing.latitude(),
+                legacyPing.longitude(), legacyPing.altitude(), legacyPing.accuracy()).distanceTo(legacyPrevious));
+        long doubleModel = perPing(() -> previous.updateCoordinates(ping.latitude(), ping.longitude(),
+                ping.altitude(), ping.accuracy()).distanceTo(previous));
+        long legacyTotal = perPing(() -> {
+            LegacyPing read = objectMapper.readValue(BODY, LegacyPing.class);
+            LegacyUserLocation moved = legacyPrevious.updateCoordinates(read.latitude(), read.longitude(),
+                    read.altitude(), read.accuracy());
+            moved.distanceTo(legacyPrevious);
+            payload(moved.userId(), moved.latitude(), moved.longitude(), moved.altitude(), moved.accuracy(),
+                    moved.updatedAt());
+        });
+        long doubleTotal = perPing(() -> {
+            Ping read = objectMapper.readValue(BODY, Ping.class);
+            UserLocation moved = previous.updateCoordinates(read.latitude(), read.longitude(),
+                    read.altitude(), read.accuracy());
+            moved.distanceTo(previous);
+            payload(moved.userId(), moved.latitude(), moved.longitude(), moved.altitude(), moved.accuracy(),
+                    moved.updatedAt());
+        });
+
+        log.info("Bytes allocated per ping, BigDecimal against double: model {} / {}, whole ping {} / {}",
+                legacyModel, doubleModel, legacyTotal, doubleTotal);
+        assertThat(doubleModel).isLessThanOrEqualTo(legacyModel + 16);
+        assertThat(doubleTotal).isLessThan(legacyTotal * 3 / 2);
+    }
+
+    private static long perPing(Allocations.Task ping) throws Exception {
+        return Allocations.perRun(5, () -> {
+            for (int i = 0; i < PINGS; i++) {
+                ping.run();
+            }
+        }) / PINGS;
+    }
+
+    private static Map<String, Object> payload(UUID userId, Object latitude, Object longitude, Object altitude,
+                                               Object accuracy, Instant updatedAt) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("userId", userId.toString());
+        data.put("latitude", latitude);
+        data.put("longitude", longitude);
+        data.put("altitude", altitude);
+        data.put("accuracy", accuracy);
+        data.put("visible", true);
+        data.put("updatedAt", updatedAt);
+        return data;
+    }
+
+    /**
+     * The location model before coordinates became doubles, reduced to what a ping touches.
+     */
+    record LegacyUserLocation(UUID id, UUID userId, BigDecimal latitude, BigDecimal longitude, BigDecimal altitude,
+                              BigDecimal accuracy, Boolean visibleToFriends, Instant createdAt, Instant updatedAt) {
+
+        private static final BigDecimal MIN_LATITUDE = new BigDecimal("-90.0");
+        private static final BigDecimal MAX_LATITUDE = new BigDecimal("90.0");
+        private static final BigDecimal MIN_LONGITUDE = new BigDecimal("-180.0");
+        private static final BigDecimal MAX_LONGITUDE = new BigDecimal("180.0");
+        private static final BigDecimal MAX_ALTITUDE = new BigDecimal("100000.0");
+        private static final BigDecimal MIN_ALTITUDE = new BigDecimal("-1000.0");
+        private static final BigDecimal MAX_ACCURACY = new BigDecimal("10000.0");
+        private static final double EARTH_RADIUS_METERS = 6371000.0;
+
+        LegacyUserLocation {
+            if (latitude.compareTo(MIN_LATITUDE) < 0 || latitude.compareTo(MAX_LATITUDE) > 0
+                    || longitude.compareTo(MIN_LONGITUDE) < 0 || longitude.compareTo(MAX_LONGITUDE) > 0) {
+                throw new IllegalArgumentException("Coordinates out of range");
+            }
+            if (altitude != null && (altitude.compareTo(MIN_ALTITUDE) < 0 || altitude.compareTo(MAX_ALTITUDE) > 0)) {
+                throw new IllegalArgumentException("Altitude out of range");
+            }
+            if (accuracy != null && (accuracy.compareTo(BigDecimal.ZERO) < 0 || accuracy.compareTo(MAX_ACCURACY) > 0)) {
+                throw new IllegalArgumentException("Accuracy out of range");
+            }
+        }
+
+        static LegacyUserLocation create(UUID userId, BigDecimal latitude, BigDecimal longitude,
+                                         BigDecimal altitude, BigDecimal accuracy, Boolean visibleToFriends) {
+            Instant now = Instant.now();
+            return new LegacyUserLocation(null, userId, latitude, longitude, altitude, accuracy, visibleToFriends,
+                    now, now);
+        }
+
+        LegacyUserLocation updateCoordinates(BigDecimal newLatitude, BigDecimal newLongitude,
+                                             BigDecimal newAltitude, BigDecimal newAccuracy) {
+            return new LegacyUserLocation(id, userId, newLatitude, newLongitude, newAltitude, newAccuracy,
+                    visibleToFriends, createdAt, Instant.now());
+        }
+
+        double distanceTo(LegacyUserLocation other) {
+            double lat1Rad = Math.toRadians(latitude.doubleValue());
+            double lon1Rad = Math.toRadians(longitude.doubleValue());
+            double lat2Rad = Math.toRadians(other.latitude.doubleValue());
+            double lon2Rad = Math.toRadians(other.longitude.doubleValue());
+            double a = Math.sin((lat2Rad - lat1Rad) / 2) * Math.sin((lat2Rad - lat1Rad) / 2)
+                    + Math.cos(lat1Rad) * Math.cos(lat2Rad)
+                    * Math.sin((lon2Rad - lon1Rad) / 2) * Math.sin((lon2Rad - lon1Rad) / 2);
+            return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hackathon.safenet.infrastructure.adapters.cache;
+
+import com.hackathon.safenet.domain.ports.outbound.FriendshipRepositoryPort;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FriendGraphCacheAdapterTest {
+
+    private final FriendshipRepositoryPort friendshipRepository = mock(FriendshipRepositoryPort.class);
+
+    @Test
+    void trimEvictsLeastRecentlyUsedUsers() {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getFriends().getCache().setMaxEntries(10);
+        when(friendshipRepository.findFriendIdsByUserId(any())).thenReturn(List.of(UUID.randomUUID()));
+        FriendGraphCacheAdapter cache = new FriendGraphCacheAdapter(friendshipRepository, properties,
+                new SimpleMeterRegistry());
+        List<UUID> users = IntStream.range(0, 11).mapToObj(i -> UUID.randomUUID()).toList();
+
+        users.subList(0, 10).forEach(cache::getFriendIds);
+        // Users 0-4 are read again, so 5 and 6 are now the least recently used
+        users.subList(0, 5).forEach(cache::getFriendIds);
+        // The eleventh user trims the cache back to nine entries
+        cache.getFriendIds(users.get(10));
+        clearInvocations(friendshipRepository);
+
+        users.subList(0, 5).forEach(cache::getFriendIds);
+        users.subList(7, 11).forEach(cache::getFriendIds);
+        verify(friendshipRepository, never()).findFriendIdsByUserId(any());
+
+        cache.getFriendIds(users.get(5));
+        cache.getFriendIds(users.get(6));
+        verify(friendshipRepository, times(2)).findFriendIdsByUserId(any());
+    }
+}
@@ -0,0 +1,93 @@
+package com.hackathon.safenet.infrastructure.adapters.notification;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class AsyncNotificationDispatcherTest {
+
+    private static final String SENDER = "a6c1f9d2-0000-4000-8000-000000000001";
+    private static final List<String> FRIENDS = List.of("a6c1f9d2-0000-4000-8000-000000000002");
+
+    private final List<NotificationType> delivered = Collections.synchronizedList(new ArrayList<>());
+    private AsyncNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketNotificationAdapter delegate = mock(WebSocketNotificationAdapter.class);
+        doAnswer(invocation -> delivered.add(invocation.getArgument(0)))
+                .when(delegate).sendToMany(any(), anyString(), anyCollection(), anyMap());
+        doAnswer(invocation -> delivered.add(invocation.<NotificationMessage>getArgument(0).getType()))
+                .when(delegate).send(any());
+
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getNotification().getDispatch().setWorkers(1);
+        properties.getNotification().getDispatch().setQueueCapacity(2);
+        dispatcher = new AsyncNotificationDispatcher(delegate, Optional.empty(),
+                event -> dispatcher.enqueue((AsyncNotificationDispatcher.NotificationDispatchEvent) event),
+                properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void sharingToggleDoesNotOvertakeEarlierLocationUpdateOfSameSender() throws InterruptedException {
+        // Queued before any worker runs, so lane priority alone would deliver the toggle first
+        dispatcher.sendToMany(NotificationType.LOCATION_UPDATE, SENDER, FRIENDS, Map.of());
+        dispatcher.sendToMany(NotificationType.LOCATION_SHARING_DISABLED, SENDER, FRIENDS, Map.of());
+
+        dispatcher.start();
+        dispatcher.stop();
+
+        assertThat(delivered).containsExactly(NotificationType.LOCATION_UPDATE, NotificationType.LOCATION_SHARING_DISABLED);
+    }
+
+    @Test
+    void unorderedTypesStillRunByPriority() throws InterruptedException {
+        dispatcher.sendToMany(NotificationType.LOCATION_UPDATE, SENDER, FRIENDS, Map.of());
+        dispatcher.sendToMany(NotificationType.FRIEND_REQUEST_RECEIVED, SENDER, FRIENDS, Map.of());
+        dispatcher.send(NotificationMessage.create(NotificationType.EMERGENCY_ALERT, SENDER, FRIENDS.getFirst(), Map.of()));
+
+        dispatcher.start();
+        dispatcher.stop();
+
+        assertThat(delivered).containsExactly(NotificationType.EMERGENCY_ALERT,
+                NotificationType.FRIEND_REQUEST_RECEIVED, NotificationType.LOCATION_UPDATE);
+    }
+
+    @Test
+    void updatesWaitingBehindTheirSenderCountAgainstCapacity() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            dispatcher.sendToMany(NotificationType.LOCATION_UPDATE, SENDER, FRIENDS, Map.of());
+        }
+
+        dispatcher.start();
+        dispatcher.stop();
+
+        assertThat(delivered).containsExactly(NotificationType.LOCATION_UPDATE, NotificationType.LOCATION_UPDATE);
+    }
+
+    @Test
+    void fullUnorderedPriorityDeliversOnCallingThread() {
+        for (int i = 0; i < 3; i++) {
+            dispatcher.sendToMany(NotificationType.FRIEND_REQUEST_RECEIVED, SENDER, FRIENDS, Map.of());
+        }
+
+        assertThat(delivered).containsExactly(NotificationType.FRIEND_REQUEST_RECEIVED);
+    }
+}
@@ -0,0 +1,116 @@
+package com.hackathon.safenet.infrastructure.adapters.notification;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactLocationCodecTest {
+
+    private static final String RECEIVER = "a6c1f9d2-0000-4000-8000-000000000009";
+    private static final UUID ALICE = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000001");
+    private static final UUID BOB = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000002");
+    private static final Instant UPDATED_AT = Instant.parse("2025-10-17T08:00:00.123Z");
+
+    /** What a client decodes from one record. */
+    private record Decoded(UUID sender, double latitude, double longitude, int accuracy, Instant updatedAt) {
+    }
+
+    @Test
+    void singleUpdateRoundTripsIn38Bytes() {
+        NotificationMessage update = NotificationMessage.create(NotificationType.LOCATION_UPDATE,
+                ALICE.toString(), RECEIVER, location(ALICE, 52.5200066, 13.404954, 4.2));
+
+        byte[] frame = CompactLocationCodec.encode(update);
+
+        assertThat(frame).hasSize(38);
+        assertThat(frame[0]).isEqualTo((byte) 1);
+        assertThat(frame[1]).isEqualTo((byte) 1);
+        assertThat(decode(frame)).containsExactly(new Decoded(ALICE, 52.5200066, 13.404954, 5, UPDATED_AT));
+    }
+
+    @Test
+    void batchRoundTripsOneRecordPerLocation() {
+        NotificationMessage batch = NotificationMessage.create(NotificationType.LOCATION_UPDATE_BATCH, null, RECEIVER,
+                Map.of("locations", List.of(location(ALICE, -33.8688, 151.2093, null),
+                        location(BOB, 90.0, -180.0, 100_000.0))));
+
+        byte[] frame = CompactLocationCodec.encode(batch);
+
+        assertThat(frame).hasSize(4 + 2 * 34);
+        assertThat(frame[1]).isEqualTo((byte) 2);
+        assertThat(decode(frame)).containsExactly(
+                new Decoded(ALICE, -33.8688, 151.2093, 0xFFFF, UPDATED_AT),
+                new Decoded(BOB, 90.0, -180.0, 0xFFFE, UPDATED_AT));
+    }
+
+    @Test
+    void encodesLargestCountThatFitsHeader() {
+        List<Map<String, Object>> locations = Collections.nCopies(CompactLocationCodec.MAX_RECORDS,
+                location(ALICE, 1.0, 2.0, 3.0));
+
+        byte[] frame = CompactLocationCodec.encode(NotificationMessage.create(
+                NotificationType.LOCATION_UPDATE_BATCH, null, RECEIVER, Map.of("locations", locations)));
+
+        assertThat(frame).hasSize(4 + 34 * CompactLocationCodec.MAX_RECORDS);
+        assertThat(ByteBuffer.wrap(frame).getShort(2) & 0xFFFF).isEqualTo(CompactLocationCodec.MAX_RECORDS);
+    }
+
+    @Test
+    void leavesBatchesAboveRecordCountToJson() {
+        List<Map<String, Object>> locations = Collections.nCopies(CompactLocationCodec.MAX_RECORDS + 1,
+                location(ALICE, 1.0, 2.0, 3.0));
+
+        assertThat(CompactLocationCodec.encode(NotificationMessage.create(
+                NotificationType.LOCATION_UPDATE_BATCH, null, RECEIVER, Map.of("locations", locations)))).isNull();
+    }
+
+    @Test
+    void leavesIncompleteLocationsToJson() {
+        Map<String, Object> noLatitude = new HashMap<>(location(ALICE, 1.0, 2.0, 3.0));
+        noLatitude.remove("latitude");
+
+        assertThat(CompactLocationCodec.encode(NotificationMessage.create(
+                NotificationType.LOCATION_UPDATE, ALICE.toString(), RECEIVER, noLatitude))).isNull();
+        assertThat(CompactLocationCodec.encode(NotificationMessage.create(
+                NotificationType.FRIEND_REQUEST_RECEIVED, ALICE.toString(), RECEIVER, Map.of()))).isNull();
+    }
+
+    private static Map<String, Object> location(UUID userId, double latitude, double longitude, Double accuracy) {
+        Map<String, Object> location = new HashMap<>();
+        location.put("userId", userId.toString());
+        location.put("latitude", latitude);
+        location.put("longitude", longitude);
+        location.put("accuracy", accuracy);
+        location.put("updatedAt", UPDATED_AT);
+        return location;
+    }
+
+    private static List<Decoded> decode(byte[] frame) {
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        buffer.get();
+        buffer.get();
+        int count = buffer.getShort() & 0xFFFF;
+        List<Decoded> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(new Decoded(
+                    new UUID(buffer.getLong(), buffer.getLong()),
+                    buffer.getInt() / 1e7,
+                    buffer.getInt() / 1e7,
+                    buffer.getShort() & 0xFFFF,
+                    Instant.ofEpochMilli(buffer.getLong())));
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+        return records;
+    }
+}
@@ -0,0 +1,139 @@
+package com.hackathon.safenet.infrastructure.adapters.notification;
+
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.NotificationMessage;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class LocationUpdateConflatorTest {
+
+    private static final String ALICE = "a6c1f9d2-0000-4000-8000-000000000001";
+    private static final String BOB = "a6c1f9d2-0000-4000-8000-000000000002";
+    private static final String CAROL = "a6c1f9d2-0000-4000-8000-000000000003";
+
+    private final ApplicationProperties properties = new ApplicationProperties();
+    private final List<NotificationMessage> frames = Collections.synchronizedList(new ArrayList<>());
+    private WebSocketNotificationAdapter delegate;
+    private LocationUpdateConflator conflator;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(WebSocketNotificationAdapter.class);
+        doAnswer(invocation -> frames.add(invocation.getArgument(0))).when(delegate).send(any());
+        conflator = new LocationUpdateConflator(delegate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void sendsLatestUpdateOfSingleSenderAsPlainUpdate() {
+        conflator.offer(ALICE, List.of(CAROL), Map.of("latitude", 52.50));
+        conflator.offer(ALICE, List.of(CAROL), Map.of("latitude", 52.51));
+
+        conflator.flush();
+
+        assertThat(frames).singleElement().satisfies(frame -> {
+            assertThat(frame.getType()).isEqualTo(NotificationType.LOCATION_UPDATE);
+            assertThat(frame.getSenderId()).isEqualTo(ALICE);
+            assertThat(frame.getReceiverId()).isEqualTo(CAROL);
+            assertThat(frame.getData()).containsEntry("latitude", 52.51);
+        });
+    }
+
+    @Test
+    void batchesLatestUpdateOfEverySender() {
+        conflator.offer(ALICE, List.of(CAROL), Map.of("userId", ALICE, "latitude", 52.50));
+        conflator.offer(BOB, List.of(CAROL), Map.of("userId", BOB, "latitude", 48.13));
+        conflator.offer(ALICE, List.of(CAROL), Map.of("userId", ALICE, "latitude", 52.51));
+
+        conflator.flush();
+
+        assertThat(frames).singleElement().satisfies(frame -> {
+            assertThat(frame.getType()).isEqualTo(NotificationType.LOCATION_UPDATE_BATCH);
+            assertThat(frame.getData().get("locations")).isEqualTo(List.of(
+                    Map.of("userId", ALICE, "latitude", 52.51),
+                    Map.of("userId", BOB, "latitude", 48.13)));
+        });
+        conflator.flush();
+        assertThat(frames).hasSize(1);
+    }
+
+    @Test
+    void discardDropsHeldUpdatesOfSenderOnly() {
+        conflator.offer(ALICE, List.of(CAROL), Map.of("latitude", 52.50));
+        conflator.offer(BOB, List.of(CAROL), Map.of("latitude", 48.13));
+
+        conflator.discard(ALICE, List.of(CAROL));
+        conflator.flush();
+
+        assertThat(frames).singleElement().satisfies(frame -> {
+            assertThat(frame.getType()).isEqualTo(NotificationType.LOCATION_UPDATE);
+            assertThat(frame.getSenderId()).isEqualTo(BOB);
+        });
+    }
+
+    @Test
+    void discardWaitsForFrameThatIsBeingSent() throws InterruptedException {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch sendEntered = new CountDownLatch(1);
+        CountDownLatch releaseSend = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sendEntered.countDown();
+            releaseSend.await();
+            events.add("update");
+            return null;
+        }).when(delegate).send(any());
+        conflator.offer(ALICE, List.of(CAROL), Map.of("latitude", 52.50));
+
+        Thread tick = Thread.ofVirtual().start(conflator::flush);
+        sendEntered.await();
+        // The toggle is delivered as soon as discard returns
+        Thread toggle = Thread.ofVirtual().start(() -> {
+            conflator.discard(ALICE, List.of(CAROL));
+            events.add("sharing-disabled");
+        });
+        toggle.join(200);
+        releaseSend.countDown();
+        tick.join();
+        toggle.join();
+
+        assertThat(events).containsExactly("update", "sharing-disabled");
+    }
+
+    @Test
+    void sharingToggleDropsUpdateQueuedAheadOfIt() throws InterruptedException {
+        List<NotificationType> toggles = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> toggles.add(invocation.getArgument(0)))
+                .when(delegate).sendToMany(any(), anyString(), anyCollection(), anyMap());
+        properties.getNotification().getDispatch().setWorkers(1);
+        AsyncNotificationDispatcher[] dispatcher = new AsyncNotificationDispatcher[1];
+        dispatcher[0] = new AsyncNotificationDispatcher(delegate, Optional.of(conflator),
+                event -> dispatcher[0].enqueue((AsyncNotificationDispatcher.NotificationDispatchEvent) event),
+                properties, new SimpleMeterRegistry());
+
+        // The update waits in the LOW lane, the toggle in the NORMAL lane
+        dispatcher[0].sendToMany(NotificationType.LOCATION_UPDATE, ALICE, List.of(CAROL), Map.of("latitude", 52.50));
+        dispatcher[0].sendToMany(NotificationType.LOCATION_SHARING_DISABLED, ALICE, List.of(CAROL), Map.of());
+        dispatcher[0].start();
+        dispatcher[0].stop();
+        conflator.flush();
+
+        assertThat(toggles).containsExactly(NotificationType.LOCATION_SHARING_DISABLED);
+        assertThat(frames).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package com.hackathon.safenet.infrastructure.adapters.rss;
+
+import com.hackathon.safenet.domain.ports.outbound.FeedPort;
+import com.hackathon.safenet.infrastructure.adapters.http.OutboundHttpClient;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class HttpFeedAdapterTest {
+
+    private static final URI FEED = URI.create("https://feeds.example.org/warnings.xml");
+    private static final String ETAG = "\"v1\"";
+    private static final String LAST_MODIFIED = "Fri, 17 Oct 2025 08:00:00 GMT";
+    private static final FeedPort.FeedReader<String> BODY =
+            feed -> new String(feed.readAllBytes(), StandardCharsets.UTF_8);
+
+    private MockRestServiceServer server;
+    private HttpFeedAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        adapter = new HttpFeedAdapter(new OutboundHttpClient(restTemplate, new SimpleMeterRegistry(), new ApplicationProperties()));
+    }
+
+    @Test
+    void sendsValidatorsOfLastResponseAndSkipsUnmodifiedFeed() {
+        server.expect(requestTo(FEED))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_MODIFIED_SINCE))
+                .andRespond(withSuccess("<rss/>", MediaType.APPLICATION_XML).headers(validators()));
+        server.expect(requestTo(FEED))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(header(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        assertThat(adapter.fetchFeed("test", FEED, BODY)).contains("<rss/>");
+        assertThat(adapter.fetchFeed("test", FEED, BODY)).isEmpty();
+        server.verify();
+    }
+
+    @Test
+    void keepsNoValidatorsWhenReaderFails() {
+        server.expect(requestTo(FEED))
+                .andRespond(withSuccess("<rss", MediaType.APPLICATION_XML).headers(validators()));
+        server.expect(requestTo(FEED))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("<rss/>", MediaType.APPLICATION_XML));
+
+        assertThatThrownBy(() -> adapter.fetchFeed("test", FEED, feed -> {
+            throw new IOException("Malformed feed");
+        })).isInstanceOf(ResourceAccessException.class);
+        assertThat(adapter.fetchFeed("test", FEED, BODY)).contains("<rss/>");
+        server.verify();
+    }
+
+    @Test
+    void forgetsValidatorsWhenUpstreamStopsSendingThem() {
+        server.expect(requestTo(FEED))
+                .andRespond(withSuccess("<rss/>", MediaType.APPLICATION_XML).headers(validators()));
+        server.expect(requestTo(FEED))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withSuccess("<rss>v2</rss>", MediaType.APPLICATION_XML));
+        server.expect(requestTo(FEED))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_MODIFIED_SINCE))
+                .andRespond(withSuccess("<rss>v2</rss>", MediaType.APPLICATION_XML));
+
+        adapter.fetchFeed("test", FEED, BODY);
+        assertThat(adapter.fetchFeed("test", FEED, BODY)).contains("<rss>v2</rss>");
+        assertThat(adapter.fetchFeed("test", FEED, BODY)).contains("<rss>v2</rss>");
+        server.verify();
+    }
+
+    private static HttpHeaders validators() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(ETAG);
+        headers.set(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED);
+        return headers;
+    }
+}
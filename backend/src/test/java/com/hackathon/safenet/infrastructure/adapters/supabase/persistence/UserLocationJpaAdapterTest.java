@@ -0,0 +1,117 @@
+package com.hackathon.safenet.infrastructure.adapters.supabase.persistence;
+
+import com.hackathon.safenet.application.service.LocationMovementFilter;
+import com.hackathon.safenet.application.service.LocationViewportService;
+import com.hackathon.safenet.application.service.UpdateUserLocationService;
+import com.hackathon.safenet.application.service.alert.AlertGeofenceService;
+import com.hackathon.safenet.domain.enums.NotificationType;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.domain.ports.outbound.FriendGraphPort;
+import com.hackathon.safenet.domain.ports.outbound.NotificationPort;
+import com.hackathon.safenet.domain.ports.outbound.UserRepositoryPort;
+import com.hackathon.safenet.infrastructure.adapters.supabase.entity.UserEntity;
+import com.hackathon.safenet.infrastructure.adapters.supabase.entity.UserLocationEntity;
+import com.hackathon.safenet.infrastructure.adapters.supabase.mapper.UserLocationMapperImpl;
+import com.hackathon.safenet.infrastructure.adapters.supabase.repository.UserJpaRepository;
+import com.hackathon.safenet.infrastructure.adapters.supabase.repository.UserLocationJpaRepository;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reads of the JPA adapter while locations are still in the write-behind buffer.
+ */
+class UserLocationJpaAdapterTest {
+
+    private static final UUID USER = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000001");
+    private static final UUID FRIEND = UUID.fromString("a6c1f9d2-0000-4000-8000-000000000002");
+
+    private final UserLocationJpaRepository jpaRepository = mock(UserLocationJpaRepository.class);
+    private final NotificationPort notificationPort = mock(NotificationPort.class);
+    private final List<UserLocation> written = new ArrayList<>();
+
+    private UserLocationWriteBehindBuffer buffer;
+    private UserLocationJpaAdapter adapter;
+    private UpdateUserLocationService service;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties properties = new ApplicationProperties();
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        doAnswer(invocation -> {
+            written.addAll(invocation.<Collection<UserLocation>>getArgument(1));
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        buffer = new UserLocationWriteBehindBuffer(jdbcTemplate, properties, new SimpleMeterRegistry());
+        adapter = new UserLocationJpaAdapter(jpaRepository,
+                new UserLocationMapperImpl(mock(UserJpaRepository.class), properties), buffer, properties);
+
+        // The table still holds the visible row from before
+        when(jpaRepository.findByUserId(USER)).thenReturn(Optional.of(UserLocationEntity.builder()
+                .id(UUID.randomUUID())
+                .user(UserEntity.builder().id(USER).build())
+                .latitude(new BigDecimal("52.52000000"))
+                .longitude(new BigDecimal("13.40500000"))
+                .visibleToFriends(true)
+                .createdAt(Instant.now().minusSeconds(3600))
+                .updatedAt(Instant.now().minusSeconds(60))
+                .build()));
+
+        UserRepositoryPort userRepository = mock(UserRepositoryPort.class);
+        when(userRepository.existsById(USER)).thenReturn(true);
+        FriendGraphPort friendGraph = mock(FriendGraphPort.class);
+        when(friendGraph.getFriendIds(USER)).thenReturn(List.of(FRIEND));
+        service = new UpdateUserLocationService(adapter, userRepository, friendGraph, notificationPort,
+                new LocationMovementFilter(false, Duration.ZERO, 0, 0, new SimpleMeterRegistry()),
+                mock(AlertGeofenceService.class), mock(LocationViewportService.class));
+    }
+
+    @Test
+    void pingBeforeFlushKeepsLocationHidden() {
+        service.updateLocationVisibility(USER, false);
+        service.updateLocation(USER, 52.53, 13.41, null, null, null);
+        buffer.flush();
+
+        assertThat(written).singleElement().satisfies(location -> {
+            assertThat(location.visibleToFriends()).isFalse();
+            assertThat(location.latitude()).isEqualTo(52.53);
+        });
+        verify(notificationPort, never()).sendToMany(eq(NotificationType.LOCATION_UPDATE), anyString(),
+                anyCollection(), anyMap());
+    }
+
+    @Test
+    void bufferedLocationReplacesStoredRow() {
+        service.updateLocationVisibility(USER, false);
+
+        assertThat(adapter.findLatestByUserId(USER)).get()
+                .extracting(UserLocation::visibleToFriends).isEqualTo(false);
+        assertThat(adapter.findLatestVisibleByUserId(USER)).isEmpty();
+        assertThat(adapter.findWithinBounds(52, 53, 13, 14)).isEmpty();
+    }
+}
@@ -0,0 +1,135 @@
+package com.hackathon.safenet.infrastructure.adapters.supabase.persistence;
+
+import com.hackathon.safenet.application.util.geo.Geohash;
+import com.hackathon.safenet.domain.model.UserLocation;
+import com.hackathon.safenet.infrastructure.adapters.supabase.migration.V2__BackfillUserLocationGeohash;
+import com.hackathon.safenet.infrastructure.properties.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the schema migrations against a table created before the geohash
+ * column existed, then writes through the buffer's batched upsert.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserLocationWriteBehindBufferTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String LEGACY_SCHEMA = """
+            DROP TABLE IF EXISTS flyway_schema_history, user_locations;
+            CREATE TABLE user_locations (
+                id UUID PRIMARY KEY,
+                user_id UUID NOT NULL UNIQUE,
+                latitude NUMERIC(10, 8) NOT NULL,
+                longitude NUMERIC(11, 8) NOT NULL,
+                altitude NUMERIC(8, 2),
+                accuracy NUMERIC(8, 2),
+                visible_to_friends BOOLEAN NOT NULL,
+                created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+            );
+            """;
+
+    private static final Instant T0 = Instant.parse("2025-10-17T08:00:00Z");
+
+    private final ApplicationProperties properties = new ApplicationProperties();
+    private JdbcTemplate jdbcTemplate;
+    private UserLocationWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(LEGACY_SCHEMA);
+        buffer = new UserLocationWriteBehindBuffer(jdbcTemplate, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void migrationAddsIndexedColumnAndBackfillsExistingRows() {
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO user_locations (id, user_id, latitude, longitude, visible_to_friends, created_at, updated_at)
+                VALUES (?, ?, 52.52, 13.405, true, now(), now())
+                """, UUID.randomUUID(), userId);
+
+        migrate();
+
+        assertThat(geohashOf(userId)).isEqualTo(Geohash.encode(52.52, 13.405, precision()));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE indexname = 'idx_user_locations_geohash'", Integer.class))
+                .isOne();
+    }
+
+    @Test
+    void upsertKeepsOneRowPerUserWithItsGeohash() {
+        migrate();
+        UUID userId = UUID.randomUUID();
+
+        buffer.enqueue(location(userId, 52.52, 13.405, T0));
+        buffer.flush();
+        buffer.enqueue(location(userId, 53.55, 9.99, T0.plusSeconds(60)));
+        buffer.flush();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT count(*) OVER () AS rows, latitude, geohash FROM user_locations WHERE user_id = ?", userId);
+        assertThat(row.get("rows")).isEqualTo(1L);
+        assertThat(((Number) row.get("latitude")).doubleValue()).isEqualTo(53.55);
+        assertThat(row.get("geohash")).isEqualTo(Geohash.encode(53.55, 9.99, precision()));
+    }
+
+    @Test
+    void upsertNeverOverwritesNewerRow() {
+        migrate();
+        UUID userId = UUID.randomUUID();
+
+        buffer.enqueue(location(userId, 53.55, 9.99, T0.plusSeconds(60)));
+        buffer.flush();
+        // A delayed ping from another replica arrives after the newer one was written
+        buffer.enqueue(location(userId, 52.52, 13.405, T0));
+        buffer.flush();
+
+        assertThat(geohashOf(userId)).isEqualTo(Geohash.encode(53.55, 9.99, precision()));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT updated_at FROM user_locations WHERE user_id = ?", Instant.class, userId))
+                .isEqualTo(T0.plusSeconds(60));
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(jdbcTemplate.getDataSource())
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .javaMigrations(new V2__BackfillUserLocationGeohash(properties))
+                .load()
+                .migrate();
+    }
+
+    private String geohashOf(UUID userId) {
+        return jdbcTemplate.queryForObject("SELECT geohash FROM user_locations WHERE user_id = ?", String.class, userId);
+    }
+
+    private int precision() {
+        return properties.getLocation().getGrid().getPrecision();
+    }
+
+    private static UserLocation location(UUID userId, double latitude, double longitude, Instant at) {
+        return new UserLocation(UUID.nameUUIDFromBytes(userId.toString().getBytes()), userId,
+                latitude, longitude, null, null, true, at, at);
+    }
+}
@@ -0,0 +1,39 @@
+package com.hackathon.safenet.infrastructure.properties;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicationPropertiesTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final ApplicationProperties properties = new ApplicationProperties();
+
+    @Test
+    void relayRejectsInstanceLocalLocationCache() {
+        properties.getWebsocket().getBroker().setMode(WebSocket.Mode.RELAY);
+
+        Set<ConstraintViolation<ApplicationProperties>> violations = validator.validate(properties);
+
+        assertThat(violations).extracting(ConstraintViolation::getMessage)
+                .containsExactly("safenet.location.cache.enabled must be false when safenet.websocket.broker.mode is RELAY");
+    }
+
+    @Test
+    void relayStartsWithoutLocationCache() {
+        properties.getWebsocket().getBroker().setMode(WebSocket.Mode.RELAY);
+        properties.getLocation().getCache().setEnabled(false);
+
+        assertThat(validator.validate(properties)).isEmpty();
+    }
+
+    @Test
+    void simpleBrokerKeepsLocationCache() {
+        assertThat(validator.validate(properties)).isEmpty();
+    }
+}
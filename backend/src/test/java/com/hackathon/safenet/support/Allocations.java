@@ -0,0 +1,42 @@
+package com.hackathon.safenet.support;
+
+import org.junit.jupiter.api.Assumptions;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures heap allocations of the calling thread, for tests that compare an
+ * implementation with the one it replaced on a fixed fixture.
+ */
+public final class Allocations {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private Allocations() {
+    }
+
+    /**
+     * Runs the task {@code runs} times to warm it up, then {@code runs} more times.
+     *
+     * @return the average number of bytes one measured run allocated
+     */
+    public static long perRun(int runs, Task task) throws Exception {
+        Assumptions.assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Allocation counting not supported");
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < runs; i++) {
+            task.run();
+        }
+        return (THREADS.getThreadAllocatedBytes(threadId) - before) / runs;
+    }
+}